@@ -0,0 +1,199 @@
+package simpleai.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Stack;
+
+import simpleai.core.BoardKey;
+import simpleai.core.SearchStats;
+import simpleai.puzzles.astar.AStar;
+import simpleai.puzzles.astar.Node;
+import simpleai.puzzles.astar.OpenList;
+
+/**
+ * Benchmarks of the A* solver and its helpers.
+ */
+public final class AStarBenchmarks {
+    private static final int[] GOAL_3 = { 0, 1, 2, 3, 4, 5, 6, 7, 8 };
+
+    /**
+     * Default constructor--private to prevent instantiation.
+     */
+    private AStarBenchmarks() {
+        // no code needed here
+    }
+
+    /**
+     * Lists the benchmarks.
+     *
+     * @return childNode, both cost2Go, getSmallest on a churning frontier
+     *         and A* on fixed 8 and 15-puzzle instance sets
+     */
+    public static List<Benchmark> all() {
+        List<Benchmark> all = new ArrayList<Benchmark>();
+        all.add(new Benchmark("astar.childNode", "node") {
+            private Node[] parents;
+
+            @Override
+            public void setup() {
+                parents = walk(KorfInstances.GOAL, 4, 1000, 1);
+            }
+
+            @Override
+            public long run() {
+                long made = 0;
+                for (Node parent : parents) {
+                    for (Node.Actions move : Node.Actions.values()) {
+                        Node child = AStar.childNode(parent, move, 4);
+                        if (child != null) {
+                            sink += child.state[0];
+                            made++;
+                        }
+                    }
+                }
+                return made;
+            }
+        });
+        all.add(new Benchmark("astar.cost2Go", "call") {
+            private Node[] nodes;
+            private int[] goalPositions;
+
+            @Override
+            public void setup() {
+                nodes = walk(KorfInstances.GOAL, 4, 1000, 2);
+                goalPositions = AStar.goalPositions(KorfInstances.GOAL);
+            }
+
+            @Override
+            public long run() {
+                for (Node node : nodes) {
+                    sink += AStar.cost2Go(node.state, goalPositions, 4);
+                }
+                return nodes.length;
+            }
+        });
+        all.add(new Benchmark("astar.cost2Go.incremental", "call") {
+            private Node[] nodes;
+            private int[] goalPositions;
+
+            @Override
+            public void setup() {
+                nodes = walk(KorfInstances.GOAL, 4, 1000, 3);
+                goalPositions = AStar.goalPositions(KorfInstances.GOAL);
+            }
+
+            @Override
+            public long run() {
+                for (int k = 1; k < nodes.length; k++) {
+                    sink += AStar.cost2Go(nodes[k], nodes[k - 1], goalPositions, 4);
+                }
+                return nodes.length - 1;
+            }
+        });
+        all.add(new Benchmark("astar.getSmallest", "call") {
+            private OpenList frontier;
+            private Random random;
+
+            @Override
+            public void setup() {
+                frontier = new OpenList();
+                random = new Random(4);
+                for (Node node : walk(KorfInstances.GOAL, 4, 10000, 4)) {
+                    node.pathCost = random.nextInt(60);
+                    frontier.add(node);
+                }
+            }
+
+            @Override
+            public long run() {
+                //take the best off and put it back further out, as a search does
+                for (int k = 0; k < 1000; k++) {
+                    Node best = AStar.getSmallest(frontier);
+                    frontier.remove(best);
+                    best.pathCost += 1 + random.nextInt(4);
+                    frontier.add(best);
+                    sink += best.pathCost;
+                }
+                return 1000;
+            }
+        });
+        all.add(search("astar.aStarSearch.8puzzle", GOAL_3, 3, 40));
+        all.add(search("astar.aStarSearch.15puzzle", KorfInstances.GOAL, 4, 30));
+        return all;
+    }
+
+    /**
+     * Makes an A* benchmark over a fixed set of eight instances.
+     *
+     * @param name
+     *            benchmark name
+     * @param goalState
+     *            the endpoint
+     * @param width
+     *            number of columns on the board
+     * @param steps
+     *            random moves from the goal to each instance
+     * @return the benchmark, counting nodes expanded
+     */
+    private static Benchmark search(String name, final int[] goalState, final int width, final int steps) {
+        return new Benchmark(name, "node") {
+            private Node[] instances = new Node[8];
+            private int[] goalPositions;
+
+            @Override
+            public void setup() {
+                goalPositions = AStar.goalPositions(goalState);
+                for (int k = 0; k < instances.length; k++) {
+                    Node[] path = walk(goalState, width, steps, 10 + k);
+                    instances[k] = AStar.makeNode(path[path.length - 1].state, goalState, width);
+                }
+            }
+
+            @Override
+            public long run() {
+                long expanded = 0;
+                SearchStats stats = new SearchStats();
+                for (Node instance : instances) {
+                    Stack<Node> solution = new Stack<Node>();
+                    AStar.aStarSearch(solution, instance, goalState, goalPositions, null, width, new OpenList(),
+                            new HashMap<BoardKey, Node>(), stats);
+                    sink += solution.size();
+                    expanded += stats.getExpanded();
+                }
+                return expanded;
+            }
+        };
+    }
+
+    /**
+     * Walks at random from the goal, never straight back.
+     *
+     * @param goalState
+     *            where the walk starts
+     * @param width
+     *            number of columns on the board
+     * @param steps
+     *            moves to make
+     * @param seed
+     *            seed of the walk, so every run sees the same boards
+     * @return the boards after each move, with their cost2Go
+     */
+    static Node[] walk(int[] goalState, int width, int steps, long seed) {
+        Random random = new Random(seed);
+        Node[] path = new Node[steps];
+        Node walker = AStar.makeNode(goalState, goalState, width);
+        Node.Actions[] moves = Node.Actions.values();
+        for (int k = 0; k < steps; k++) {
+            Node child = null;
+            while (child == null) {
+                child = AStar.childNode(walker, moves[random.nextInt(moves.length)], width);
+            }
+            child.cost2Go = AStar.cost2Go(child, goalState, width);
+            path[k] = child;
+            walker = child;
+        }
+        return path;
+    }
+}
@@ -0,0 +1,446 @@
+package simpleai.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+import java.util.Stack;
+
+import simpleai.core.Allocation;
+import simpleai.core.BoardKey;
+import simpleai.core.SearchStats;
+import simpleai.puzzles.astar.AStar;
+import simpleai.puzzles.astar.Node;
+import simpleai.puzzles.astar.OpenList;
+import simpleai.puzzles.astar.ParallelAStar;
+import simpleai.puzzles.astar.PatternDatabase;
+import simpleai.puzzles.astar.PatternHeuristic;
+
+/**
+ * Timings and comparisons of the A* solver and its variants.
+ */
+public final class AStarComparisons {
+
+    /**
+     * Default constructor--private to prevent instantiation.
+     */
+    private AStarComparisons() {
+        // no code needed here
+    }
+
+    /**
+     * Times repeated searches of the start position and prints the
+     * expansion rate.
+     *
+     * @param initialState
+     *            start Node of every search
+     * @param goalState
+     *            the endpoint
+     * @param width
+     *            number of columns on the board
+     * @param runs
+     *            number of timed searches
+     */
+    public static void benchmark(Node initialState, int[] goalState, int width, int runs) {
+        SearchStats stats = new SearchStats();
+        //warm up so the timed runs see compiled code
+        for (int k = 0; k < runs; k++) {
+            AStar.aStarSearch(new Stack<Node>(), initialState, goalState, AStar.goalPositions(goalState), null, width,
+                    new OpenList(), new HashMap<BoardKey, Node>(), stats);
+        }
+        long expanded = 0;
+        long start = System.nanoTime();
+        for (int k = 0; k < runs; k++) {
+            AStar.aStarSearch(new Stack<Node>(), initialState, goalState, AStar.goalPositions(goalState), null, width,
+                    new OpenList(), new HashMap<BoardKey, Node>(), stats);
+            expanded += stats.getExpanded();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println("runs: " + runs + ", expansions per run: " + expanded / runs);
+        System.out.println("expansions per second: " + (long) (expanded * 1e9 / elapsed));
+        AStar.writeCounts(stats);
+    }
+
+    /**
+     * Times the full cost2Go against the incremental one on the children of
+     * a random walk and prints the cost of one evaluation with each.
+     *
+     * @param goalState
+     *            the endpoint
+     * @param width
+     *            number of columns on the board
+     * @param steps
+     *            length of the random walk
+     */
+    public static void heuristicBenchmark(int[] goalState, int width, int steps) {
+        int[] goalPositions = AStar.goalPositions(goalState);
+        Node[] parents = new Node[steps];
+        Node[] children = new Node[steps];
+        Random random = new Random(42);
+        Node walker = AStar.makeNode(goalState, goalState, width);
+        Node.Actions[] moves = Node.Actions.values();
+        for (int k = 0; k < steps; k++) {
+            Node child = null;
+            while (child == null) {
+                child = AStar.childNode(walker, moves[random.nextInt(moves.length)], width);
+            }
+            child.cost2Go = AStar.cost2Go(child, goalState, width);
+            parents[k] = walker;
+            children[k] = child;
+            walker = child;
+        }
+        long sink = 0;
+        long fullTime = Long.MAX_VALUE;
+        long incrementalTime = Long.MAX_VALUE;
+        //best of several rounds, the first ones are warm up
+        for (int round = 0; round < 20; round++) {
+            long start = System.nanoTime();
+            for (int k = 0; k < steps; k++) {
+                sink += AStar.cost2Go(children[k].state, goalPositions, width);
+            }
+            fullTime = Math.min(fullTime, System.nanoTime() - start);
+            start = System.nanoTime();
+            for (int k = 0; k < steps; k++) {
+                sink -= AStar.cost2Go(children[k], parents[k], goalPositions, width);
+            }
+            incrementalTime = Math.min(incrementalTime, System.nanoTime() - start);
+        }
+        if (sink != 0) {
+            System.out.println("incremental cost2Go disagrees with the full one");
+        }
+        System.out.println(width + " wide cost2Go, full: " + fullTime * 1000 / steps / 1000.0
+                + " ns, incremental: " + incrementalTime * 1000 / steps / 1000.0 + " ns");
+    }
+
+    /**
+     * Solves the start position once with every tie-break policy and prints
+     * the Nodes expanded and the solution length of each.
+     *
+     * @param initialState
+     *            start Node of every search
+     * @param goalState
+     *            the endpoint
+     * @param width
+     *            number of columns on the board
+     */
+    public static void compareTieBreaks(Node initialState, int[] goalState, int width) {
+        SearchStats stats = new SearchStats();
+        for (OpenList.TieBreak tieBreak : OpenList.TieBreak.values()) {
+            Stack<Node> solution = new Stack<Node>();
+            AStar.aStarSearch(solution, initialState, goalState, AStar.goalPositions(goalState), null, width,
+                    new OpenList(tieBreak), new HashMap<BoardKey, Node>(), stats);
+            System.out.print(tieBreak + ": solution length " + (solution.size() - 1) + ", ");
+            AStar.writeCounts(stats);
+        }
+    }
+
+    /**
+     * Solves the start position with IDA* and with A* and prints the time,
+     * memory allocated and Nodes expanded by each search.
+     *
+     * @param initialState
+     *            start Node of both searches
+     * @param goalState
+     *            the endpoint
+     * @param width
+     *            number of columns on the board
+     */
+    public static void compareSolvers(Node initialState, int[] goalState, int width) {
+        measureSolver(initialState, goalState, null, width, true);
+        measureSolver(initialState, goalState, null, width, false);
+    }
+
+    /**
+     * Solves the start position once and prints the time, the bytes the
+     * search allocated, the Nodes it kept in its duplicate table and the
+     * Nodes it expanded. IDA* keeps no table, only its path.
+     *
+     * @param initialState
+     *            start Node of the search
+     * @param goalState
+     *            the endpoint
+     * @param width
+     *            number of columns on the board
+     * @param patterns
+     *            pattern database heuristic, or null for Manhattan distance
+     * @param ida
+     *            true for IDA*, false for A*
+     */
+    private static void measureSolver(Node initialState, int[] goalState, PatternHeuristic patterns, int width,
+            boolean ida) {
+        Stack<Node> solution = new Stack<Node>();
+        OpenList allNodes = new OpenList();
+        HashMap<BoardKey, Node> seenNodes = new HashMap<BoardKey, Node>();
+        SearchStats stats = new SearchStats();
+        long allocated = Allocation.allocatedBytes();
+        long start = System.nanoTime();
+        if (ida) {
+            AStar.idaStarSearch(solution, initialState, goalState, patterns, width, stats);
+        } else {
+            AStar.aStarSearch(solution, initialState, goalState, AStar.goalPositions(goalState), patterns, width,
+                    allNodes, seenNodes, stats);
+        }
+        long elapsed = System.nanoTime() - start;
+        allocated = Allocation.allocatedBytes() - allocated;
+        System.out.print((ida ? "IDA*: " : "A*:   ") + elapsed / 1000 + " us, " + allocated / 1024
+                + " KB allocated, " + seenNodes.size() + " stored Nodes, solution length " + (solution.size() - 1)
+                + ", ");
+        AStar.writeCounts(stats);
+    }
+
+    /**
+     * Solves a range of the Korf 15-puzzle instances with IDA* and prints the
+     * solution length, Nodes expanded and time of each.
+     *
+     * @param first
+     *            first instance to solve, counting from 1
+     * @param last
+     *            last instance to solve
+     * @param patterns
+     *            pattern database heuristic, or null for Manhattan distance
+     * @param json
+     *            true to also print what each search did as JSON
+     */
+    public static void korfBenchmark(int first, int last, PatternHeuristic patterns, boolean json) {
+        int width = 4;
+        int[] goalState = KorfInstances.GOAL;
+        long totalExpanded = 0;
+        long totalTime = 0;
+        SearchStats stats = new SearchStats();
+        for (int k = first; k <= last; k++) {
+            Node initialState = AStar.makeNode(KorfInstances.INSTANCES[k - 1], goalState, width);
+            Stack<Node> solution = new Stack<Node>();
+            long start = System.nanoTime();
+            AStar.idaStarSearch(solution, initialState, goalState, patterns, width, stats);
+            long elapsed = System.nanoTime() - start;
+            totalExpanded += stats.getExpanded();
+            totalTime += elapsed;
+            System.out.println("Korf " + k + ": length " + (solution.size() - 1) + " (optimal "
+                    + KorfInstances.LENGTHS[k - 1] + "), expanded " + stats.getExpanded() + ", " + elapsed / 1000000
+                    + " ms");
+            writeStats(stats, json);
+        }
+        System.out.println("total expanded " + totalExpanded + ", " + totalTime / 1000000 + " ms, "
+                + (long) (totalExpanded * 1e9 / totalTime) + " expansions per second");
+    }
+
+    /**
+     * Loads or builds the 4x4 pattern databases and compares Manhattan
+     * distance with both pattern database combinations: A* on the hard
+     * 8-puzzle state with two 4-tile groups, then IDA* on a range of Korf
+     * instances with three 5-tile groups.
+     *
+     * @param first
+     *            first Korf instance to solve, counting from 1
+     * @param last
+     *            last Korf instance to solve
+     * @param json
+     *            true to also print what each Korf search did as JSON
+     * @throws IOException
+     *             if a database file cannot be read or written
+     */
+    public static void patternBenchmark(int first, int last, boolean json) throws IOException {
+        int[] goalState = { 0, 1, 2, 3, 4, 5, 6, 7, 8 };
+        int[][] groups = { { 1, 2, 3, 4 }, { 5, 6, 7, 8 } };
+        PatternDatabase[] smallDatabases = loadPatterns(new File("pdb-3x3.bin"), groups, goalState, 3);
+        Node hardState = AStar.makeNode(new int[] { 8, 0, 6, 5, 4, 7, 2, 3, 1 }, goalState, 3);
+        measureSolver(hardState, goalState, null, 3, false);
+        for (PatternHeuristic.Combine combine : PatternHeuristic.Combine.values()) {
+            System.out.print(combine + " ");
+            measureSolver(hardState, goalState, new PatternHeuristic(smallDatabases, combine, goalState, 3), 3,
+                    false);
+        }
+
+        groups = new int[][] { { 1, 2, 3, 4, 5 }, { 6, 7, 8, 9, 10 }, { 11, 12, 13, 14, 15 } };
+        PatternDatabase[] databases = loadPatterns(new File("pdb-4x4.bin"), groups, KorfInstances.GOAL, 4);
+        System.out.println("manhattan");
+        korfBenchmark(first, last, null, json);
+        for (PatternHeuristic.Combine combine : PatternHeuristic.Combine.values()) {
+            System.out.println(combine);
+            korfBenchmark(first, last, new PatternHeuristic(databases, combine, KorfInstances.GOAL, 4), json);
+        }
+    }
+
+    /**
+     * Maps pattern databases from a file, building it first if needed, and
+     * prints how long that took.
+     *
+     * @param file
+     *            the database file
+     * @param groups
+     *            disjoint tile groups
+     * @param goalState
+     *            final state
+     * @param width
+     *            number of columns on the board
+     * @return the databases
+     * @throws IOException
+     *             if the file cannot be read or written
+     */
+    public static PatternDatabase[] loadPatterns(File file, int[][] groups, int[] goalState, int width)
+            throws IOException {
+        long start = System.nanoTime();
+        PatternDatabase[] databases = PatternDatabase.loadOrBuild(file, groups, goalState, width);
+        System.out.println(file + ": " + file.length() + " bytes, ready in " + (System.nanoTime() - start) / 1000000
+                + " ms");
+        return databases;
+    }
+
+    /**
+     * Solves a state with forward breadth first search, bidirectional
+     * breadth first search and A*, and prints the Nodes each generated.
+     *
+     * @param initialState
+     *            start Node of every search
+     * @param goalState
+     *            the endpoint
+     * @param width
+     *            number of columns on the board
+     */
+    public static void compareDirections(Node initialState, int[] goalState, int width) {
+        SearchStats stats = new SearchStats();
+        for (int k = 0; k < 3; k++) {
+            Stack<Node> solution = new Stack<Node>();
+            long start = System.nanoTime();
+            if (k == 0) {
+                AStar.breadthFirstSearch(solution, initialState, goalState, width, stats);
+                System.out.print("BFS:           ");
+            } else if (k == 1) {
+                AStar.bidirectionalSearch(solution, initialState, goalState, width, stats);
+                System.out.print("bidirectional: ");
+            } else {
+                AStar.aStarSearch(solution, initialState, goalState, AStar.goalPositions(goalState), null, width,
+                        new OpenList(), new HashMap<BoardKey, Node>(), stats);
+                System.out.print("A*:            ");
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.print(elapsed / 1000 + " us, solution length " + (solution.size() - 1) + ", ");
+            AStar.writeCounts(stats);
+        }
+    }
+
+    /**
+     * Solves a range of Korf instances with parallel A* at 1, 2, 4, 8 and 16
+     * threads and prints the time of each run.
+     *
+     * @param first
+     *            first instance to solve, counting from 1
+     * @param last
+     *            last instance to solve
+     * @param patterns
+     *            pattern database heuristic, or null for Manhattan distance
+     * @param json
+     *            true to also print what each search did as JSON
+     */
+    public static void parallelBenchmark(int first, int last, PatternHeuristic patterns, boolean json) {
+        SearchStats stats = new SearchStats();
+        for (int k = first; k <= last; k++) {
+            Node initialState = AStar.makeNode(KorfInstances.INSTANCES[k - 1], KorfInstances.GOAL, 4);
+            if (patterns != null) {
+                initialState.cost2Go = patterns.cost2Go(initialState.state);
+            }
+            long single = 0;
+            for (int threads = 1; threads <= 16; threads *= 2) {
+                Stack<Node> solution = new Stack<Node>();
+                long start = System.nanoTime();
+                ParallelAStar.search(solution, initialState, KorfInstances.GOAL, patterns, 4, threads, stats);
+                long elapsed = System.nanoTime() - start;
+                if (threads == 1) {
+                    single = elapsed;
+                }
+                System.out.print("Korf " + k + ", " + threads + " threads: " + elapsed / 1000000 + " ms, speedup "
+                        + Math.round(100.0 * single / elapsed) / 100.0 + ", length " + (solution.size() - 1) + ", ");
+                AStar.writeCounts(stats);
+                writeStats(stats, json);
+            }
+        }
+    }
+
+    /**
+     * Solves one Korf instance with A* and Manhattan distance on the calling
+     * thread, to show the search is bounded by heap rather than stack.
+     *
+     * @param instance
+     *            Korf instance to solve, counting from 1
+     * @param json
+     *            true to also print what the search did as JSON
+     */
+    public static void deepSearch(int instance, boolean json) {
+        Node initialState = AStar.makeNode(KorfInstances.INSTANCES[instance - 1], KorfInstances.GOAL, 4);
+        Stack<Node> solution = new Stack<Node>();
+        SearchStats stats = new SearchStats();
+        long start = System.nanoTime();
+        AStar.aStarSearch(solution, initialState, KorfInstances.GOAL, AStar.goalPositions(KorfInstances.GOAL), null, 4,
+                new OpenList(), new HashMap<BoardKey, Node>(), stats);
+        long elapsed = System.nanoTime() - start;
+        System.out.print("Korf " + instance + ": length " + (solution.size() - 1) + " (optimal "
+                + KorfInstances.LENGTHS[instance - 1] + "), " + elapsed / 1000000 + " ms, ");
+        AStar.writeCounts(stats);
+        writeStats(stats, json);
+    }
+
+    /**
+     * Prints what a search did as JSON, if asked to.
+     */
+    private static void writeStats(SearchStats stats, boolean json) {
+        if (json) {
+            System.out.println(stats.toJson());
+        }
+    }
+
+    /**
+     * Main method.
+     *
+     * @param args
+     *            the command line arguments; "bench" times the searches on
+     *            the start board of AStar.main, "korf first last" solves
+     *            that range of Korf instances, "pdb first last" compares
+     *            pattern databases on them, "hda first last" times parallel
+     *            A* on them, "deep n" solves one of them with A*; "stats"
+     *            before any of these also prints what each search did as
+     *            JSON; anything else is handed to AStar.main
+     * @throws IOException
+     *             if a pattern database file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        boolean json = args.length > 1 && args[0].equals("stats") && (args[1].equals("korf")
+                || args[1].equals("pdb") || args[1].equals("hda") || args[1].equals("deep"));
+        if (json) {
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+        String mode = args.length > 0 ? args[0] : "";
+        boolean range = mode.equals("korf") || mode.equals("pdb") || mode.equals("hda");
+        int first = range && args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int last = range && args.length > 2 ? Integer.parseInt(args[2]) : KorfInstances.INSTANCES.length;
+        if (mode.equals("bench")) {
+            int width = 3;
+            int[] goalState = { 0, 1, 2, 3, 4, 5, 6, 7, 8 };
+            Node initialState = AStar.makeNode(new int[] { 0, 3, 5, 4, 2, 7, 6, 8, 1 }, goalState, width);
+            benchmark(initialState, goalState, width, 20000);
+            heuristicBenchmark(goalState, width, 100000);
+            heuristicBenchmark(KorfInstances.GOAL, 4, 100000);
+            compareTieBreaks(initialState, goalState, width);
+            //one of the two 8-puzzle states that need 31 moves
+            Node hardState = AStar.makeNode(new int[] { 8, 0, 6, 5, 4, 7, 2, 3, 1 }, goalState, width);
+            compareTieBreaks(hardState, goalState, width);
+            compareSolvers(initialState, goalState, width);
+            compareSolvers(hardState, goalState, width);
+            compareDirections(initialState, goalState, width);
+            compareDirections(hardState, goalState, width);
+        } else if (mode.equals("deep")) {
+            deepSearch(args.length > 1 ? Integer.parseInt(args[1]) : 12, json);
+        } else if (mode.equals("korf")) {
+            korfBenchmark(first, last, null, json);
+        } else if (mode.equals("pdb")) {
+            patternBenchmark(first, last, json);
+        } else if (mode.equals("hda")) {
+            int[][] groups = { { 1, 2, 3, 4, 5 }, { 6, 7, 8, 9, 10 }, { 11, 12, 13, 14, 15 } };
+            PatternDatabase[] databases = loadPatterns(new File("pdb-4x4.bin"), groups, KorfInstances.GOAL, 4);
+            parallelBenchmark(first, last,
+                    new PatternHeuristic(databases, PatternHeuristic.Combine.add, KorfInstances.GOAL, 4), json);
+        } else {
+            AStar.main(args);
+        }
+    }
+}
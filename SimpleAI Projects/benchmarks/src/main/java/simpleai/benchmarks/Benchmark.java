@@ -0,0 +1,77 @@
+package simpleai.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * One timed operation of the suite. The runner calls run over and over and
+ * divides the time and memory by the operations and by the work units,
+ * usually nodes, that they report.
+ */
+public abstract class Benchmark {
+
+    /**
+     * Output stream that throws everything away, for operations that print.
+     */
+    protected static final PrintStream QUIET = new PrintStream(new OutputStream() {
+        @Override
+        public void write(int b) {
+            // thrown away
+        }
+    });
+
+    private final String name;
+    private final String unit;
+
+    /**
+     * Results of the operations are folded in here, so the JIT cannot drop
+     * the work that made them.
+     */
+    protected long sink;
+
+    /**
+     * Makes a benchmark.
+     *
+     * @param name
+     *            dotted name the runner filters and reports by
+     * @param unit
+     *            what run counts, such as "node" or "call"
+     */
+    protected Benchmark(String name, String unit) {
+        this.name = name;
+        this.unit = unit;
+    }
+
+    /**
+     * Reads the benchmark's name.
+     *
+     * @return the dotted name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Reads what run counts.
+     *
+     * @return the unit of work
+     */
+    public String unit() {
+        return unit;
+    }
+
+    /**
+     * Prepares the inputs, once before warming up. Does nothing unless
+     * overridden.
+     */
+    public void setup() {
+        // no code needed here
+    }
+
+    /**
+     * Runs one operation.
+     *
+     * @return work units done
+     */
+    public abstract long run();
+}
@@ -0,0 +1,203 @@
+package simpleai.benchmarks;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import simpleai.core.Allocation;
+
+/**
+ * Runs the benchmark suite in the manner of JMH: each benchmark warms up
+ * for some timed iterations, then is measured over more, and reports the
+ * mean and standard deviation of operations per second along with the
+ * time per operation and work units per second. With the gc profiler on
+ * it also reports the bytes allocated per operation and per unit and the
+ * collections that ran. Results can be appended to a CSV file to follow
+ * them from one build to the next.
+ */
+public final class BenchmarkRunner {
+    private Pattern include = Pattern.compile(".*");
+    private int warmups = 3;
+    private int iterations = 5;
+    private long iterationMillis = 1000;
+    private boolean profileGc;
+    private String csv;
+
+    /**
+     * Default constructor--use main.
+     */
+    private BenchmarkRunner() {
+        // no code needed here
+    }
+
+    /**
+     * Lists every benchmark of the suite.
+     *
+     * @return the benchmarks, by program
+     */
+    public static List<Benchmark> suite() {
+        List<Benchmark> all = new ArrayList<Benchmark>();
+        all.addAll(AStarBenchmarks.all());
+        all.addAll(DepthFirstSearchBenchmarks.all());
+        all.addAll(TicTacToeBenchmarks.all());
+        return all;
+    }
+
+    /**
+     * Main method.
+     *
+     * @param args
+     *            a regular expression a benchmark's name must contain, and
+     *            the options "-wi n" warmup iterations, "-i n" measured
+     *            iterations, "-t ms" time per iteration, "-prof gc" to
+     *            measure allocation and "-csv file" to append the results;
+     *            "-l" lists the benchmarks
+     * @throws IOException
+     *             if the CSV file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        BenchmarkRunner runner = new BenchmarkRunner();
+        for (int k = 0; k < args.length; k++) {
+            if (args[k].equals("-wi")) {
+                runner.warmups = Integer.parseInt(args[++k]);
+            } else if (args[k].equals("-i")) {
+                runner.iterations = Integer.parseInt(args[++k]);
+            } else if (args[k].equals("-t")) {
+                runner.iterationMillis = Long.parseLong(args[++k]);
+            } else if (args[k].equals("-prof") && args[++k].equals("gc")) {
+                runner.profileGc = true;
+            } else if (args[k].equals("-csv")) {
+                runner.csv = args[++k];
+            } else if (args[k].equals("-l")) {
+                for (Benchmark benchmark : suite()) {
+                    System.out.println(benchmark.name());
+                }
+                return;
+            } else {
+                runner.include = Pattern.compile(args[k]);
+            }
+        }
+        runner.runAll();
+    }
+
+    /**
+     * Runs the benchmarks whose name matches, printing a line for each.
+     *
+     * @throws IOException
+     *             if the CSV file cannot be written
+     */
+    private void runAll() throws IOException {
+        PrintWriter out = null;
+        if (csv != null) {
+            boolean fresh = !new File(csv).exists();
+            out = new PrintWriter(new FileWriter(csv, true));
+            if (fresh) {
+                out.println("time,benchmark,unit,ops_per_s,error,ns_per_op,units_per_op,units_per_s,bytes_per_op,"
+                        + "bytes_per_unit,gc_count,gc_ms");
+            }
+        }
+        long now = System.currentTimeMillis();
+        try {
+            for (Benchmark benchmark : suite()) {
+                if (!include.matcher(benchmark.name()).find()) {
+                    continue;
+                }
+                benchmark.setup();
+                for (int k = 0; k < warmups; k++) {
+                    iterate(benchmark);
+                }
+                double[] rates = new double[iterations];
+                long ops = 0;
+                long units = 0;
+                long elapsed = 0;
+                long allocated = 0;
+                long collections = 0;
+                long collecting = 0;
+                for (int k = 0; k < iterations; k++) {
+                    long[] result = iterate(benchmark);
+                    rates[k] = result[0] * 1e9 / result[2];
+                    ops += result[0];
+                    units += result[1];
+                    elapsed += result[2];
+                    allocated += result[3];
+                    collections += result[4];
+                    collecting += result[5];
+                }
+                double mean = 0;
+                for (double rate : rates) {
+                    mean += rate / iterations;
+                }
+                double variance = 0;
+                for (double rate : rates) {
+                    variance += (rate - mean) * (rate - mean) / Math.max(1, iterations - 1);
+                }
+                double error = Math.sqrt(variance);
+                String line = String.format("%-34s %14.1f +- %10.1f ops/s %12d ns/op %10d %s/op %8.2f M%s/s",
+                        benchmark.name(), mean, error, elapsed / ops, units / ops, benchmark.unit(), units * 1e3
+                                / elapsed, benchmark.unit());
+                if (profileGc) {
+                    line += String.format(" %10d B/op %8.1f B/%s %4d gc %5d ms", allocated / ops,
+                            units == 0 ? 0.0 : (double) allocated / units, benchmark.unit(), collections,
+                            collecting);
+                }
+                System.out.println(line);
+                if (out != null) {
+                    out.println(now + "," + benchmark.name() + "," + benchmark.unit() + "," + mean + "," + error
+                            + "," + elapsed / ops + "," + units / ops + "," + units * 1e9 / elapsed + ","
+                            + (profileGc ? String.valueOf(allocated / ops) : "") + ","
+                            + (profileGc && units > 0 ? String.valueOf((double) allocated / units) : "") + ","
+                            + (profileGc ? String.valueOf(collections) : "") + ","
+                            + (profileGc ? String.valueOf(collecting) : ""));
+                }
+            }
+        } finally {
+            if (out != null) {
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * Runs operations for one iteration's worth of time.
+     *
+     * @return operations, work units, nanoseconds, bytes allocated,
+     *         collections and milliseconds collecting
+     */
+    private long[] iterate(Benchmark benchmark) {
+        long[] result = new long[6];
+        long allocated = profileGc ? Allocation.allocatedBytes() : 0;
+        long collections = 0;
+        long collecting = 0;
+        if (profileGc) {
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                collections -= collector.getCollectionCount();
+                collecting -= collector.getCollectionTime();
+            }
+        }
+        long start = System.nanoTime();
+        long stop = start + iterationMillis * 1000000;
+        long now;
+        do {
+            result[1] += benchmark.run();
+            result[0]++;
+            now = System.nanoTime();
+        } while (now < stop);
+        result[2] = now - start;
+        if (profileGc) {
+            result[3] = Allocation.allocatedBytes() - allocated;
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                collections += collector.getCollectionCount();
+                collecting += collector.getCollectionTime();
+            }
+            result[4] = collections;
+            result[5] = collecting;
+        }
+        return result;
+    }
+}
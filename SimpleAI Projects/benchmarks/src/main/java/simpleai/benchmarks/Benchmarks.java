@@ -0,0 +1,73 @@
+package simpleai.benchmarks;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import simpleai.games.tictactoe.AIHMiniMaxTicTacToe;
+import simpleai.games.tictactoe.AIMiniMaxTicTacToe;
+
+/**
+ * Runs the benchmarks of every program from one place.
+ */
+public final class Benchmarks {
+
+    /**
+     * Default constructor--private to prevent instantiation.
+     */
+    private Benchmarks() {
+        // no code needed here
+    }
+
+    /**
+     * Main method.
+     *
+     * @param args
+     *            the command line arguments; "astar", "dfs", "minimax" or
+     *            "hminimax" followed by that program's own arguments runs
+     *            it with them, "suite" followed by BenchmarkRunner's
+     *            arguments runs the benchmark suite, nothing runs the
+     *            "bench" of each program in turn
+     * @throws IOException
+     *             if a database file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            String[] bench = { "bench" };
+            for (String program : new String[] { "dfs", "astar", "minimax", "hminimax" }) {
+                System.out.println("==== " + program + " ====");
+                run(program, bench);
+            }
+            return;
+        }
+        if (args[0].equals("suite")) {
+            BenchmarkRunner.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        run(args[0], Arrays.copyOfRange(args, 1, args.length));
+    }
+
+    /**
+     * Runs one program's main method, or for the puzzle solvers the
+     * comparisons that wrap it.
+     *
+     * @param program
+     *            "astar", "dfs", "minimax" or "hminimax"
+     * @param args
+     *            the program's arguments
+     * @throws IOException
+     *             if a database file cannot be read or written
+     */
+    public static void run(String program, String[] args) throws IOException {
+        if (program.equals("astar")) {
+            AStarComparisons.main(args);
+        } else if (program.equals("dfs")) {
+            DepthFirstSearchComparisons.main(args);
+        } else if (program.equals("minimax")) {
+            AIMiniMaxTicTacToe.main(args);
+        } else if (program.equals("hminimax")) {
+            AIHMiniMaxTicTacToe.main(args);
+        } else {
+            throw new IllegalArgumentException("Unknown program " + program);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package simpleai.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Stack;
+
+import simpleai.core.SearchStats;
+import simpleai.puzzles.dfs.DepthFirstSearch;
+import simpleai.puzzles.dfs.Node;
+import simpleai.puzzles.dfs.TranspositionTable;
+
+/**
+ * Benchmarks of the depth first searches, on the start board of
+ * DepthFirstSearch.main.
+ */
+public final class DepthFirstSearchBenchmarks {
+    private static final int[] GOAL = { 0, 1, 2, 3, 4, 5, 6, 7, 8 };
+    private static final int[] START = { 0, 3, 5, 4, 2, 7, 6, 8, 1 };
+
+    /**
+     * Default constructor--private to prevent instantiation.
+     */
+    private DepthFirstSearchBenchmarks() {
+        // no code needed here
+    }
+
+    /**
+     * Lists the benchmarks.
+     *
+     * @return depthSearch to its fixed limit and in place iterative
+     *         deepening
+     */
+    public static List<Benchmark> all() {
+        List<Benchmark> all = new ArrayList<Benchmark>();
+        all.add(new Benchmark("dfs.depthSearch", "node") {
+            @Override
+            public long run() {
+                SearchStats stats = new SearchStats();
+                Stack<Node> solution = new Stack<Node>();
+                DepthFirstSearch.depthSearch(solution, start(), GOAL, 3, 0, stats);
+                sink += solution.size();
+                return stats.getGenerated();
+            }
+        });
+        all.add(new Benchmark("dfs.inPlaceDeepening", "node") {
+            @Override
+            public long run() {
+                SearchStats stats = new SearchStats();
+                Stack<Node> solution = new Stack<Node>();
+                DepthFirstSearch.inPlaceDeepening(solution, start(), GOAL, 3, new TranspositionTable(16), stats);
+                sink += solution.size();
+                return stats.getGenerated();
+            }
+        });
+        return all;
+    }
+
+    /**
+     * Makes the start Node.
+     */
+    private static Node start() {
+        Node node = new Node();
+        node.state = START.clone();
+        return node;
+    }
+}
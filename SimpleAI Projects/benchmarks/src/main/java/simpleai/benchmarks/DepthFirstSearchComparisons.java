@@ -0,0 +1,125 @@
+package simpleai.benchmarks;
+
+import java.util.Random;
+import java.util.Stack;
+
+import simpleai.core.Allocation;
+import simpleai.core.SearchStats;
+import simpleai.puzzles.dfs.DepthFirstSearch;
+import simpleai.puzzles.dfs.Node;
+import simpleai.puzzles.dfs.TranspositionTable;
+
+/**
+ * Timings and comparisons of the depth first searches.
+ */
+public final class DepthFirstSearchComparisons {
+
+    /**
+     * Default constructor--private to prevent instantiation.
+     */
+    private DepthFirstSearchComparisons() {
+        // no code needed here
+    }
+
+    /**
+     * Compares the Nodes visited, time and bytes allocated by the fixed limit
+     * search and by iterative deepening, Node based and in place, with and
+     * without the transposition table, on random walks of growing length
+     * from the goal and on a state that needs 31 moves.
+     *
+     * @param goalState
+     *            destination
+     * @param width
+     *            number of columns on the board
+     */
+    public static void benchmark(int[] goalState, int width) {
+        Random random = new Random(12);
+        int[] walks = { 6, 10, 14, 20, 30 };
+        for (int steps : walks) {
+            Node initialState = new Node();
+            initialState.state = goalState.clone();
+            for (int k = 0; k < steps; k++) {
+                Node next = DepthFirstSearch.childNode(initialState, Node.Actions.values()[random.nextInt(4)], width);
+                if (next != null) {
+                    initialState = next;
+                } else {
+                    k--;
+                }
+            }
+            initialState.parentNode = null;
+            initialState.action = null;
+            initialState.depth = 0;
+            System.out.println("walk of " + steps + ":");
+            compareSearches(initialState, goalState, width);
+        }
+        //one of the two 8-puzzle states that need 31 moves
+        Node hardState = new Node();
+        hardState.state = new int[] { 8, 0, 6, 5, 4, 7, 2, 3, 1 };
+        System.out.println("31 moves:");
+        compareSearches(hardState, goalState, width);
+    }
+
+    /**
+     * Runs the three searches of {@link #benchmark} on one state.
+     */
+    private static void compareSearches(Node initialState, int[] goalState, int width) {
+        Stack<Node> solution = new Stack<Node>();
+        SearchStats stats = new SearchStats();
+        long allocated = Allocation.allocatedBytes();
+        long start = System.nanoTime();
+        DepthFirstSearch.depthSearch(solution, initialState, goalState, width, 0, stats);
+        writeRun("fixed limit 12", solution, stats, System.nanoTime() - start,
+                Allocation.allocatedBytes() - allocated);
+        solution = new Stack<Node>();
+        allocated = Allocation.allocatedBytes();
+        start = System.nanoTime();
+        DepthFirstSearch.iterativeDeepening(solution, initialState, goalState, width, null, stats);
+        writeRun("iterative deepening", solution, stats, System.nanoTime() - start,
+                Allocation.allocatedBytes() - allocated);
+        solution = new Stack<Node>();
+        allocated = Allocation.allocatedBytes();
+        start = System.nanoTime();
+        DepthFirstSearch.iterativeDeepening(solution, initialState, goalState, width, new TranspositionTable(16),
+                stats);
+        writeRun("with table", solution, stats, System.nanoTime() - start,
+                Allocation.allocatedBytes() - allocated);
+        solution = new Stack<Node>();
+        allocated = Allocation.allocatedBytes();
+        start = System.nanoTime();
+        DepthFirstSearch.inPlaceDeepening(solution, initialState, goalState, width, null, stats);
+        writeRun("in place", solution, stats, System.nanoTime() - start,
+                Allocation.allocatedBytes() - allocated);
+        solution = new Stack<Node>();
+        allocated = Allocation.allocatedBytes();
+        start = System.nanoTime();
+        DepthFirstSearch.inPlaceDeepening(solution, initialState, goalState, width, new TranspositionTable(16),
+                stats);
+        writeRun("in place with table", solution, stats, System.nanoTime() - start,
+                Allocation.allocatedBytes() - allocated);
+    }
+
+    /**
+     * Prints one line of {@link #benchmark}.
+     */
+    private static void writeRun(String name, Stack<Node> solution, SearchStats stats, long elapsed,
+            long allocated) {
+        String length = solution.empty() ? "not found" : "length " + (solution.size() - 1);
+        System.out.println("  " + name + ": " + length + ", visited " + stats.getGenerated() + ", "
+                + elapsed / 1000000 + " ms, " + allocated / 1024 + " KB allocated");
+    }
+
+    /**
+     * Main method.
+     *
+     * @param args
+     *            the command line arguments; "bench" compares the searches,
+     *            anything else is handed to DepthFirstSearch.main
+     */
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("bench")) {
+            benchmark(new int[] { 0, 1, 2, 3, 4, 5, 6, 7, 8 }, 3);
+        } else {
+            DepthFirstSearch.main(args);
+        }
+    }
+}
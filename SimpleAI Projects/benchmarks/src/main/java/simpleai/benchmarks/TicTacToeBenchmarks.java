@@ -0,0 +1,134 @@
+package simpleai.benchmarks;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import simpleai.core.SearchStats;
+import simpleai.games.tictactoe.AIHMiniMaxTicTacToe;
+import simpleai.games.tictactoe.AIMiniMaxTicTacToe;
+import simpleai.games.tictactoe.MnkBoard;
+import simpleai.games.tictactoe.Node;
+
+/**
+ * Benchmarks of the tic-tac-toe engines: the win test and heuristic on
+ * every board with legal stone counts, and whole games.
+ */
+public final class TicTacToeBenchmarks {
+
+    /**
+     * Default constructor--private to prevent instantiation.
+     */
+    private TicTacToeBenchmarks() {
+        // no code needed here
+    }
+
+    /**
+     * Lists the benchmarks.
+     *
+     * @return checkWin on bit masks and on Nodes, utilityHeuristic, a full
+     *         minimax game, a depth limited game and a 4,4,4 search
+     */
+    public static List<Benchmark> all() {
+        final int[][] boards = boards();
+        List<Benchmark> all = new ArrayList<Benchmark>();
+        all.add(new Benchmark("ttt.checkWin", "call") {
+            @Override
+            public long run() {
+                for (int[] board : boards) {
+                    sink += AIMiniMaxTicTacToe.checkWin(board[0], board[1]);
+                }
+                return boards.length;
+            }
+        });
+        all.add(new Benchmark("ttt.checkWin.node", "call") {
+            private Node[] nodes;
+
+            @Override
+            public void setup() {
+                nodes = new Node[boards.length];
+                for (int k = 0; k < boards.length; k++) {
+                    nodes[k] = new Node();
+                    for (int cell = 0; cell < 9; cell++) {
+                        nodes[k].state[cell] = (boards[k][0] & 1 << cell) != 0 ? "X"
+                                : (boards[k][1] & 1 << cell) != 0 ? "O" : ".";
+                    }
+                }
+            }
+
+            @Override
+            public long run() {
+                for (Node node : nodes) {
+                    sink += AIMiniMaxTicTacToe.checkWin(node);
+                }
+                return nodes.length;
+            }
+        });
+        all.add(new Benchmark("ttt.utilityHeuristic", "call") {
+            @Override
+            public long run() {
+                for (int[] board : boards) {
+                    sink += AIHMiniMaxTicTacToe.utilityHeuristic(board[0], board[1]);
+                }
+                return boards.length;
+            }
+        });
+        all.add(new Benchmark("ttt.minimax.game", "node") {
+            @Override
+            public long run() {
+                AIMiniMaxTicTacToe.table.clear();
+                SearchStats stats = new SearchStats();
+                PrintStream out = System.out;
+                System.setOut(QUIET);
+                try {
+                    sink += AIMiniMaxTicTacToe.findMax(AIHMiniMaxTicTacToe.emptyBoard(), stats).utility;
+                } finally {
+                    System.setOut(out);
+                }
+                return stats.getGenerated();
+            }
+        });
+        all.add(new Benchmark("ttt.hminimax.game", "node") {
+            @Override
+            public long run() {
+                AIHMiniMaxTicTacToe.table.clear();
+                SearchStats stats = new SearchStats();
+                PrintStream out = System.out;
+                System.setOut(QUIET);
+                try {
+                    sink += AIHMiniMaxTicTacToe.miniMaxCut(AIHMiniMaxTicTacToe.emptyBoard(), stats).movesLeft;
+                } finally {
+                    System.setOut(out);
+                }
+                return stats.getGenerated();
+            }
+        });
+        all.add(new Benchmark("mnk.444.depth7", "node") {
+            @Override
+            public long run() {
+                MnkBoard board = new MnkBoard(4, 4, 4);
+                sink += AIHMiniMaxTicTacToe.findMax(board, 7, Integer.MIN_VALUE, Integer.MAX_VALUE, new int[] { -1 });
+                return board.nodes;
+            }
+        });
+        return all;
+    }
+
+    /**
+     * Lists every board with as many X as O, or one more.
+     *
+     * @return the X and O masks of each board
+     */
+    static int[][] boards() {
+        List<int[]> boards = new ArrayList<int[]>();
+        for (int x = 0; x < 512; x++) {
+            for (int o = 0; o < 512; o++) {
+                int difference = Integer.bitCount(x) - Integer.bitCount(o);
+                if ((x & o) == 0 && (difference == 0 || difference == 1)) {
+                    boards.add(new int[] { x, o });
+                }
+            }
+        }
+        return boards.toArray(new int[boards.size()][]);
+    }
+}
@@ -0,0 +1,30 @@
+package simpleai.core;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Counts the memory a search allocates, for the benchmarks.
+ */
+public final class Allocation {
+
+    /**
+     * Default constructor--private to prevent instantiation.
+     */
+    private Allocation() {
+        // no code needed here
+    }
+
+    /**
+     * Reads the bytes this thread has allocated so far.
+     *
+     * @return allocated bytes, or 0 if the JVM does not count them
+     */
+    public static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,118 @@
+package simpleai.core;
+
+/**
+ * Sliding tile board packed into two longs, usable as a hash key. Tiles
+ * take five bits each, twelve to a long: cells 0 to 11 go in the low long
+ * and cells 12 to 23 in the high one. A 25th cell is left out, since its
+ * tile is the one missing from the others, so boards of up to 5x5 fit.
+ */
+public final class BoardKey {
+    /**
+     * Most cells a board can have.
+     */
+    public static final int MAX_CELLS = 25;
+
+    private final long low;
+    private final long high;
+
+    /**
+     * Wraps packed halves.
+     *
+     * @param low
+     *            tiles of cells 0 to 11
+     * @param high
+     *            tiles of cells 12 to 23
+     */
+    public BoardKey(long low, long high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    /**
+     * Packs a board.
+     *
+     * @param state
+     *            the tiles in row order, 0 for the blank
+     * @return the key
+     */
+    public static BoardKey pack(int[] state) {
+        if (state.length > MAX_CELLS) {
+            throw new IllegalArgumentException("Only boards of up to " + MAX_CELLS + " tiles can be packed: "
+                    + state.length);
+        }
+        long low = 0;
+        long high = 0;
+        for (int k = 0; k < state.length; k++) {
+            low += low(state[k], k);
+            high += high(state[k], k);
+        }
+        return new BoardKey(low, high);
+    }
+
+    /**
+     * Part of the low long made by one tile, so a key can be kept up to date
+     * as tiles slide.
+     *
+     * @param tile
+     *            the tile value
+     * @param cell
+     *            index the tile sits at
+     * @return the tile shifted into place, or 0 if the cell is not in the low
+     *         long
+     */
+    public static long low(int tile, int cell) {
+        return cell < 12 ? (long) tile << (5 * cell) : 0;
+    }
+
+    /**
+     * Part of the high long made by one tile.
+     *
+     * @param tile
+     *            the tile value
+     * @param cell
+     *            index the tile sits at
+     * @return the tile shifted into place, or 0 if the cell is not in the
+     *         high long
+     */
+    public static long high(int tile, int cell) {
+        return cell >= 12 && cell < 24 ? (long) tile << (5 * (cell - 12)) : 0;
+    }
+
+    /**
+     * Reads the tiles of cells 0 to 11.
+     *
+     * @return the low long
+     */
+    public long low() {
+        return low;
+    }
+
+    /**
+     * Reads the tiles of cells 12 to 23.
+     *
+     * @return the high long
+     */
+    public long high() {
+        return high;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof BoardKey)) {
+            return false;
+        }
+        BoardKey key = (BoardKey) other;
+        return low == key.low && high == key.high;
+    }
+
+    @Override
+    public int hashCode() {
+        long mixed = (low ^ high * 0xC2B2AE3D27D4EB4FL) * 0x9E3779B97F4A7C15L;
+        return (int) (mixed >>> 32);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toHexString(high) + ":" + Long.toHexString(low);
+    }
+}
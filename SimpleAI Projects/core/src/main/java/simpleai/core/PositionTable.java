@@ -0,0 +1,174 @@
+package simpleai.core;
+
+import java.util.Arrays;
+
+/**
+ * Fixed size transposition table of searched boards. Each entry keeps the
+ * value found, whether it is exact or only a bound, and the best move. A
+ * board that lands on a taken slot replaces the entry there unless that
+ * entry came from a bigger subtree. Shared by the tic-tac-toe searches.
+ */
+public class PositionTable {
+    /**
+     * The value is exact.
+     */
+    public static final int EXACT = 0;
+
+    /**
+     * The search failed high: the real value is at least this.
+     */
+    public static final int LOWER = 1;
+
+    /**
+     * The search failed low: the real value is at most this.
+     */
+    public static final int UPPER = 2;
+
+    private final int[] keys;
+    private final int[] values;
+    private final byte[] bounds;
+    private final byte[] moves;
+    private final byte[] sizes;
+    private final int mask;
+
+    /**
+     * Lookups made.
+     */
+    public long probes;
+
+    /**
+     * Lookups that found their board.
+     */
+    public long hits;
+
+    /**
+     * Makes an empty table.
+     *
+     * @param bits
+     *            log2 of the number of entries
+     */
+    public PositionTable(int bits) {
+        keys = new int[1 << bits];
+        values = new int[1 << bits];
+        bounds = new byte[1 << bits];
+        moves = new byte[1 << bits];
+        sizes = new byte[1 << bits];
+        mask = (1 << bits) - 1;
+    }
+
+    /**
+     * Empties the table and its counts.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        probes = 0;
+        hits = 0;
+    }
+
+    /**
+     * Looks a board up.
+     *
+     * @param key
+     *            the board's key, never negative
+     * @return its slot, or -1 if it is not in the table
+     */
+    public int find(int key) {
+        probes++;
+        int slot = slot(key);
+        if (keys[slot] == key + 1) {
+            hits++;
+            return slot;
+        }
+        return -1;
+    }
+
+    /**
+     * Tells if an entry settles a search with the given window: an exact
+     * value always does, a bound only when it falls outside the window.
+     *
+     * @param slot
+     *            slot from find
+     * @param alpha
+     *            X is already sure of at least this much elsewhere
+     * @param beta
+     *            O is already sure of at most this much elsewhere
+     * @return true if value(slot) can be returned without searching
+     */
+    public boolean settles(int slot, int alpha, int beta) {
+        int value = values[slot];
+        return bounds[slot] == EXACT || (bounds[slot] == LOWER && value >= beta)
+                || (bounds[slot] == UPPER && value <= alpha);
+    }
+
+    /**
+     * Reads the value of an entry.
+     *
+     * @param slot
+     *            slot from find
+     * @return the value stored there
+     */
+    public int value(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * Reads the best move of an entry.
+     *
+     * @param slot
+     *            slot from find
+     * @return the cell stored there
+     */
+    public int move(int slot) {
+        return moves[slot];
+    }
+
+    /**
+     * Stores a searched board.
+     *
+     * @param key
+     *            the board's key, never negative
+     * @param size
+     *            open cells on the board, a measure of the work saved
+     * @param value
+     *            value the search returned
+     * @param alpha
+     *            alpha the search started with
+     * @param beta
+     *            beta the search started with
+     * @param move
+     *            cell of the best move
+     */
+    public void store(int key, int size, int value, int alpha, int beta, int move) {
+        int slot = slot(key);
+        if (keys[slot] != 0 && keys[slot] != key + 1 && sizes[slot] > size) {
+            return;
+        }
+        keys[slot] = key + 1;
+        values[slot] = value;
+        if (value <= alpha) {
+            bounds[slot] = UPPER;
+        } else if (value >= beta) {
+            bounds[slot] = LOWER;
+        } else {
+            bounds[slot] = EXACT;
+        }
+        moves[slot] = (byte) move;
+        sizes[slot] = (byte) size;
+    }
+
+    /**
+     * Measures how often lookups found their board.
+     *
+     * @return hits over probes
+     */
+    public double hitRate() {
+        return probes == 0 ? 0 : (double) hits / probes;
+    }
+
+    /**
+     * Spreads keys over the table.
+     */
+    private int slot(int key) {
+        return (key * 0x9E3779B9 >>> 8) & mask;
+    }
+}
@@ -0,0 +1,260 @@
+package simpleai.core;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counts what a search did: nodes generated and expanded, duplicates
+ * dropped, the largest frontier, the deepest expansion and the time taken.
+ * A search is handed one by its caller, or null when stats are not
+ * wanted, and only counts behind a null check, so a disabled search pays
+ * one branch per count. Every search starts the counts afresh, so they
+ * always describe one search and the branching factor stays meaningful; a
+ * game reads them after each move. The counts are plain fields, so a
+ * parallel search gives each thread its own and merges them at the end.
+ * Only the searching thread touches them; the getters, and so JSON and
+ * JMX, read a copy published when a search starts and stops, which any
+ * thread can read safely. They can be printed as JSON or registered as an
+ * MXBean.
+ */
+public class SearchStats implements SearchStatsMXBean {
+    private long generated;
+    private long expanded;
+    private long duplicates;
+    private long peakFrontier;
+    private int maxDepth;
+    private int solutionDepth = -1;
+    private long started;
+    private long elapsed;
+
+    /**
+     * The counts as of the last start or stop, for other threads.
+     */
+    private volatile Snapshot published = new Snapshot(this);
+
+    /**
+     * Counts a node made.
+     */
+    public void generated() {
+        generated++;
+    }
+
+    /**
+     * Counts a node whose children are being made.
+     *
+     * @param depth
+     *            its depth, counted from the root of the search
+     */
+    public void expanded(int depth) {
+        expanded++;
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+
+    /**
+     * Counts a node dropped because its state was already reached, or
+     * settled by a transposition table.
+     */
+    public void duplicate() {
+        duplicates++;
+    }
+
+    /**
+     * Notes the size of the frontier.
+     *
+     * @param size
+     *            nodes waiting to be expanded
+     */
+    public void frontier(long size) {
+        if (size > peakFrontier) {
+            peakFrontier = size;
+        }
+    }
+
+    /**
+     * Notes the depth of the solution found.
+     *
+     * @param depth
+     *            moves from the root to the goal
+     */
+    public void solved(int depth) {
+        solutionDepth = depth;
+    }
+
+    /**
+     * Starts a search: clears the counts of the last one and starts the
+     * clock.
+     */
+    public void start() {
+        generated = 0;
+        expanded = 0;
+        duplicates = 0;
+        peakFrontier = 0;
+        maxDepth = 0;
+        solutionDepth = -1;
+        elapsed = 0;
+        published = new Snapshot(this);
+        started = System.nanoTime();
+    }
+
+    /**
+     * Stops the clock, adding the time since start, and publishes the
+     * counts to the getters.
+     */
+    public void stop() {
+        elapsed += System.nanoTime() - started;
+        published = new Snapshot(this);
+    }
+
+    /**
+     * Adds the counts of another share of the same search, such as one
+     * thread's, to these. The clock and the solution depth are left alone.
+     *
+     * @param other
+     *            counts of the other share
+     */
+    public void merge(SearchStats other) {
+        generated += other.generated;
+        expanded += other.expanded;
+        duplicates += other.duplicates;
+        peakFrontier = Math.max(peakFrontier, other.peakFrontier);
+        maxDepth = Math.max(maxDepth, other.maxDepth);
+    }
+
+    @Override
+    public long getGenerated() {
+        return published.generated;
+    }
+
+    @Override
+    public long getExpanded() {
+        return published.expanded;
+    }
+
+    @Override
+    public long getDuplicates() {
+        return published.duplicates;
+    }
+
+    @Override
+    public long getPeakFrontier() {
+        return published.peakFrontier;
+    }
+
+    @Override
+    public int getMaxDepth() {
+        return published.maxDepth;
+    }
+
+    @Override
+    public int getSolutionDepth() {
+        return published.solutionDepth;
+    }
+
+    /**
+     * Finds the branching factor b* a uniform tree as deep as the solution,
+     * or the deepest expansion if there is none, would need to hold the
+     * nodes generated: N + 1 = 1 + b* + b*^2 + ... + b*^d.
+     *
+     * @return b*, or 0 before anything was generated
+     */
+    @Override
+    public double getEffectiveBranchingFactor() {
+        Snapshot counts = published;
+        long nodes = counts.generated;
+        int depth = counts.solutionDepth >= 0 ? counts.solutionDepth : counts.maxDepth;
+        if (nodes == 0 || depth == 0) {
+            return 0;
+        }
+        double low = 0;
+        double high = Math.max(1, nodes);
+        for (int k = 0; k < 100; k++) {
+            double b = (low + high) / 2;
+            double sum = 0;
+            double power = 1;
+            for (int d = 1; d <= depth && sum <= nodes; d++) {
+                power *= b;
+                sum += power;
+            }
+            if (sum < nodes) {
+                low = b;
+            } else {
+                high = b;
+            }
+        }
+        return (low + high) / 2;
+    }
+
+    @Override
+    public double getWallMillis() {
+        return published.elapsed / 1e6;
+    }
+
+    /**
+     * Clears the published counts. The searching thread's own counts are
+     * left to it and start afresh at its next start, so this is safe to
+     * call from any thread.
+     */
+    @Override
+    public void reset() {
+        published = new Snapshot(new SearchStats());
+    }
+
+    /**
+     * Writes the published counts as a JSON object.
+     *
+     * @return the object on one line
+     */
+    public String toJson() {
+        Snapshot counts = published;
+        return "{\"generated\":" + counts.generated + ",\"expanded\":" + counts.expanded + ",\"duplicates\":"
+                + counts.duplicates + ",\"peakFrontier\":" + counts.peakFrontier + ",\"maxDepth\":" + counts.maxDepth
+                + ",\"solutionDepth\":" + counts.solutionDepth + ",\"effectiveBranchingFactor\":"
+                + Math.round(getEffectiveBranchingFactor() * 1000) / 1000.0 + ",\"wallMillis\":"
+                + Math.round(getWallMillis() * 1000) / 1000.0 + "}";
+    }
+
+    /**
+     * Registers the stats with the platform MBean server, so JConsole or
+     * any JMX client can read them. A client sees the counts of the last
+     * search as of its start or stop, never a half written count.
+     *
+     * @param name
+     *            name of the search, unique among the registered ones
+     * @return the name it was registered under
+     * @throws JMException
+     *             if the name is taken or not valid
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("simpleai:type=SearchStats,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * The counts at one moment, immutable so it can be handed to other
+     * threads through a volatile field.
+     */
+    private static final class Snapshot {
+        final long generated;
+        final long expanded;
+        final long duplicates;
+        final long peakFrontier;
+        final int maxDepth;
+        final int solutionDepth;
+        final long elapsed;
+
+        Snapshot(SearchStats stats) {
+            generated = stats.generated;
+            expanded = stats.expanded;
+            duplicates = stats.duplicates;
+            peakFrontier = stats.peakFrontier;
+            maxDepth = stats.maxDepth;
+            solutionDepth = stats.solutionDepth;
+            elapsed = stats.elapsed;
+        }
+    }
+}
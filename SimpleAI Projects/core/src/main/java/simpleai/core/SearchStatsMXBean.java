@@ -0,0 +1,52 @@
+package simpleai.core;
+
+/**
+ * What a registered SearchStats shows over JMX.
+ */
+public interface SearchStatsMXBean {
+
+    /**
+     * @return nodes generated
+     */
+    long getGenerated();
+
+    /**
+     * @return nodes expanded
+     */
+    long getExpanded();
+
+    /**
+     * @return nodes dropped as already seen
+     */
+    long getDuplicates();
+
+    /**
+     * @return largest frontier seen
+     */
+    long getPeakFrontier();
+
+    /**
+     * @return deepest expansion, counted from the root
+     */
+    int getMaxDepth();
+
+    /**
+     * @return depth of the solution, or -1 if none was recorded
+     */
+    int getSolutionDepth();
+
+    /**
+     * @return effective branching factor
+     */
+    double getEffectiveBranchingFactor();
+
+    /**
+     * @return milliseconds spent in searches
+     */
+    double getWallMillis();
+
+    /**
+     * Zeroes every count shown.
+     */
+    void reset();
+}
@@ -0,0 +1,157 @@
+package simpleai.core;
+
+import java.util.Arrays;
+
+/**
+ * Board primitives shared by the sliding tile solvers. A board is an int
+ * array of tiles in row order with 0 for the blank. Moves are numbered up,
+ * down, left, right from 0, the order of each solver's Actions, so a move
+ * and the one that undoes it differ only in the lowest bit. Boards are
+ * packed into hash keys by {@link BoardKey#pack}.
+ */
+public final class SlidingPuzzle {
+    /**
+     * The blank moves up a row.
+     */
+    public static final int UP = 0;
+
+    /**
+     * The blank moves down a row.
+     */
+    public static final int DOWN = 1;
+
+    /**
+     * The blank moves left a column.
+     */
+    public static final int LEFT = 2;
+
+    /**
+     * The blank moves right a column.
+     */
+    public static final int RIGHT = 3;
+
+    /**
+     * Default constructor--private to prevent instantiation.
+     */
+    private SlidingPuzzle() {
+        // no code needed here
+    }
+
+    /**
+     * Finds where the blank goes for a move.
+     *
+     * @param blankIndex
+     *            current index of the blank
+     * @param move
+     *            {@link #UP}, {@link #DOWN}, {@link #LEFT} or {@link #RIGHT}
+     * @param width
+     *            number of columns on the board
+     * @param cells
+     *            number of cells on the board
+     * @return the new index of the blank, or -1 if it would leave the board
+     */
+    public static int moveIndex(int blankIndex, int move, int width, int cells) {
+        int nextIndex;
+        switch (move) {
+            case UP:
+                nextIndex = blankIndex - width;
+                break;
+            case DOWN:
+                nextIndex = blankIndex + width;
+                break;
+            case LEFT:
+                nextIndex = blankIndex % width == 0 ? -1 : blankIndex - 1;
+                break;
+            default:
+                nextIndex = blankIndex % width == width - 1 ? -1 : blankIndex + 1;
+                break;
+        }
+        return nextIndex < 0 || nextIndex >= cells ? -1 : nextIndex;
+    }
+
+    /**
+     * Finds the move that undoes the given one.
+     *
+     * @param move
+     *            a move number
+     * @return the reverse move
+     */
+    public static int opposite(int move) {
+        return move ^ 1;
+    }
+
+    /**
+     * Finds the blank.
+     *
+     * @param state
+     *            tiles of a board
+     * @return index of the blank, or -1 if there is none
+     */
+    public static int blankIndex(int[] state) {
+        for (int k = 0; k < state.length; k++) {
+            if (state[k] == 0) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks in linear time whether a state can reach the goal. Every move
+     * swaps the blank with a neighbour, so it flips the parity of the tile
+     * permutation and of the blank's distance from its goal square together;
+     * a state is solvable only when the two parities agree. The permutation
+     * parity comes from counting its cycles. States that do not hold the
+     * same tiles as the goal are rejected too.
+     *
+     * @param state
+     *            tiles to check
+     * @param goalState
+     *            the endpoint
+     * @param width
+     *            number of columns on the board
+     * @return true if the goal can be reached
+     */
+    public static boolean isSolvable(int[] state, int[] goalState, int width) {
+        int n = goalState.length;
+        if (state.length != n || n % width != 0) {
+            return false;
+        }
+        int[] goalIndex = new int[n];
+        Arrays.fill(goalIndex, -1);
+        for (int k = 0; k < n; k++) {
+            if (goalState[k] < 0 || goalState[k] >= n || goalIndex[goalState[k]] >= 0) {
+                return false;
+            }
+            goalIndex[goalState[k]] = k;
+        }
+        //target[k] is where the tile on square k belongs
+        int[] target = new int[n];
+        boolean[] placed = new boolean[n];
+        int blankIndex = -1;
+        for (int k = 0; k < n; k++) {
+            if (state[k] < 0 || state[k] >= n || placed[state[k]]) {
+                return false;
+            }
+            placed[state[k]] = true;
+            target[k] = goalIndex[state[k]];
+            if (state[k] == 0) {
+                blankIndex = k;
+            }
+        }
+        boolean[] visited = new boolean[n];
+        int cycles = 0;
+        for (int k = 0; k < n; k++) {
+            if (!visited[k]) {
+                cycles++;
+                for (int next = k; !visited[next]; next = target[next]) {
+                    visited[next] = true;
+                }
+            }
+        }
+        int blankGoal = goalIndex[0];
+        int blankDistance = Math.abs(blankIndex / width - blankGoal / width)
+                + Math.abs(blankIndex % width - blankGoal % width);
+        return (n - cycles) % 2 == blankDistance % 2;
+    }
+}
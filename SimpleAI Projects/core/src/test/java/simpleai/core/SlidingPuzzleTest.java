@@ -0,0 +1,141 @@
+package simpleai.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+/**
+ * Checks the board primitives against a breadth first walk of every board
+ * the moves can reach.
+ */
+public class SlidingPuzzleTest {
+
+    @Test
+    public void solvableMatchesReachableOnThreeByThree() {
+        checkEveryPermutation(new int[] { 0, 1, 2, 3, 4, 5, 6, 7, 8 }, 3);
+    }
+
+    @Test
+    public void solvableMatchesReachableWithBlankLast() {
+        checkEveryPermutation(new int[] { 1, 2, 3, 4, 5, 6, 7, 8, 0 }, 3);
+    }
+
+    @Test
+    public void solvableMatchesReachableOnEvenWidth() {
+        checkEveryPermutation(new int[] { 0, 1, 2, 3, 4, 5, 6, 7 }, 4);
+    }
+
+    @Test
+    public void solvableMatchesReachableOnNarrowBoard() {
+        checkEveryPermutation(new int[] { 1, 2, 3, 4, 5, 6, 7, 0 }, 2);
+    }
+
+    @Test
+    public void rejectsBoardsWithOtherTiles() {
+        int[] goal = { 0, 1, 2, 3, 4, 5, 6, 7, 8 };
+        assertFalse(SlidingPuzzle.isSolvable(new int[] { 0, 1, 2, 3, 4, 5, 6, 7 }, goal, 3));
+        assertFalse(SlidingPuzzle.isSolvable(new int[] { 0, 1, 2, 3, 4, 5, 6, 7, 7 }, goal, 3));
+        assertFalse(SlidingPuzzle.isSolvable(new int[] { 0, 1, 2, 3, 4, 5, 6, 7, 9 }, goal, 3));
+        assertFalse(SlidingPuzzle.isSolvable(goal, goal, 4));
+    }
+
+    @Test
+    public void movesStayOnTheBoard() {
+        //corners of a 3x3 board
+        assertEquals(-1, SlidingPuzzle.moveIndex(0, SlidingPuzzle.UP, 3, 9));
+        assertEquals(-1, SlidingPuzzle.moveIndex(0, SlidingPuzzle.LEFT, 3, 9));
+        assertEquals(3, SlidingPuzzle.moveIndex(0, SlidingPuzzle.DOWN, 3, 9));
+        assertEquals(1, SlidingPuzzle.moveIndex(0, SlidingPuzzle.RIGHT, 3, 9));
+        assertEquals(-1, SlidingPuzzle.moveIndex(8, SlidingPuzzle.DOWN, 3, 9));
+        assertEquals(-1, SlidingPuzzle.moveIndex(8, SlidingPuzzle.RIGHT, 3, 9));
+        assertEquals(-1, SlidingPuzzle.moveIndex(2, SlidingPuzzle.RIGHT, 3, 9));
+        assertEquals(-1, SlidingPuzzle.moveIndex(3, SlidingPuzzle.LEFT, 3, 9));
+        for (int move = 0; move < 4; move++) {
+            int there = SlidingPuzzle.moveIndex(4, move, 3, 9);
+            assertEquals(4, SlidingPuzzle.moveIndex(there, SlidingPuzzle.opposite(move), 3, 9));
+        }
+    }
+
+    /**
+     * Walks every board reachable from the goal, then checks isSolvable
+     * on every arrangement of the goal's tiles.
+     */
+    private static void checkEveryPermutation(int[] goal, int width) {
+        HashSet<Long> reachable = reachable(goal, width);
+        int[] state = goal.clone();
+        int[] solvable = new int[1];
+        permute(state, 0, goal, width, reachable, solvable);
+        //exactly half of all arrangements can be solved
+        assertEquals(reachable.size(), solvable[0]);
+        assertEquals(factorial(goal.length) / 2, solvable[0]);
+    }
+
+    private static void permute(int[] state, int from, int[] goal, int width, HashSet<Long> reachable,
+            int[] solvable) {
+        if (from == state.length) {
+            boolean expected = reachable.contains(key(state));
+            assertEquals(expected, SlidingPuzzle.isSolvable(state, goal, width));
+            if (expected) {
+                solvable[0]++;
+            }
+            return;
+        }
+        for (int k = from; k < state.length; k++) {
+            swap(state, from, k);
+            permute(state, from + 1, goal, width, reachable, solvable);
+            swap(state, from, k);
+        }
+    }
+
+    /**
+     * Every board the moves reach from the goal, which are exactly the
+     * boards that reach it, since every move can be undone.
+     */
+    private static HashSet<Long> reachable(int[] goal, int width) {
+        HashSet<Long> seen = new HashSet<Long>();
+        ArrayDeque<int[]> queue = new ArrayDeque<int[]>();
+        seen.add(key(goal));
+        queue.add(goal.clone());
+        while (!queue.isEmpty()) {
+            int[] state = queue.poll();
+            int blank = SlidingPuzzle.blankIndex(state);
+            for (int move = 0; move < 4; move++) {
+                int next = SlidingPuzzle.moveIndex(blank, move, width, state.length);
+                if (next < 0) {
+                    continue;
+                }
+                int[] child = state.clone();
+                child[blank] = child[next];
+                child[next] = 0;
+                if (seen.add(key(child))) {
+                    queue.add(child);
+                }
+            }
+        }
+        assertTrue(seen.size() > 1);
+        return seen;
+    }
+
+    private static long key(int[] state) {
+        long key = 0;
+        for (int tile : state) {
+            key = key << 4 | tile;
+        }
+        return key;
+    }
+
+    private static void swap(int[] state, int a, int b) {
+        int tile = state[a];
+        state[a] = state[b];
+        state[b] = tile;
+    }
+
+    private static int factorial(int n) {
+        return n <= 1 ? 1 : n * factorial(n - 1);
+    }
+}
@@ -0,0 +1,1262 @@
+package simpleai.games.tictactoe;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Arrays;
+import java.util.Stack;
+
+import simpleai.core.Allocation;
+import simpleai.core.PositionTable;
+import simpleai.core.SearchStats;
+
+/**
+ * H MiniMax on a TicTacToe board
+ */
+public final class AIHMiniMaxTicTacToe extends Node {
+
+    /**
+     * Rows, columns and diagonals of the board; bit k stands for cell k.
+     */
+    static final int[] LINES = { 0x007, 0x038, 0x1C0, 0x049, 0x092, 0x124, 0x111, 0x054 };
+
+    /**
+     * Neighbouring cell pairs along the lines, the pairs counted by
+     * utilityHeuristic.
+     */
+    static final int[] PAIRS = { 0x003, 0x006, 0x018, 0x030, 0x0C0, 0x180, 0x009, 0x048, 0x012, 0x090, 0x024,
+            0x120, 0x011, 0x110, 0x014, 0x050 };
+
+    /**
+     * Every cell of the board.
+     */
+    static final int FULL = 0x1FF;
+
+    /**
+     * One side's part of utilityHeuristic for every mask of its cells: 3 for
+     * each neighbouring pair it holds, and 1 for each of its cells that does
+     * not start a pair.
+     */
+    static final int[] SIDE_SCORE = new int[FULL + 1];
+
+    static {
+        for (int mask = 0; mask <= FULL; mask++) {
+            int pairs = 0;
+            int starts = 0;
+            for (int pair : PAIRS) {
+                if ((mask & pair) == pair) {
+                    pairs++;
+                    starts |= pair & -pair;
+                }
+            }
+            SIDE_SCORE[mask] = 3 * pairs + Integer.bitCount(mask) - Integer.bitCount(starts);
+        }
+    }
+
+    /**
+     * Value of a won m,n,k board, above any heuristic score.
+     */
+    static final int WIN = 1000000;
+
+    /**
+     * Boards already searched, keyed by the board and the depth it was
+     * searched at, or null to search without one. Rotations and reflections
+     * are not folded together: utilityHeuristic counts each pair at its
+     * lower numbered cell, so mirror images can score differently.
+     */
+    public static PositionTable table = new PositionTable(14);
+
+    /**
+     * Default constructor--private to prevent instantiation.
+     */
+    private AIHMiniMaxTicTacToe() {
+        // no code needed here
+    }
+
+    /**
+     * Main method.
+     *
+     * @param args
+     *            the command line arguments; "bench" times the search
+     *            instead of playing, "mnk" times it on larger boards and
+     *            "timed width height k ms" plays an m,n,k-game with a time
+     *            budget per move, "smp" times the parallel searches,
+     *            "order [ms]" compares the move orderings and "memory"
+     *            measures the allocation and heap of a game; "stats" before
+     *            the game, "timed" or "smp" also prints what each search
+     *            did as JSON
+     */
+    public static void main(String[] args) {
+        SearchStats stats = null;
+        if (args.length > 0 && args[0].equals("stats")) {
+            stats = new SearchStats();
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+        if (args.length > 0 && args[0].equals("bench")) {
+            benchmark(200);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("mnk")) {
+            mnkBenchmark(args.length > 1 ? Long.parseLong(args[1]) : 2000);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("memory")) {
+            memoryBenchmark(2000);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("order")) {
+            orderingBenchmark(args.length > 1 ? Long.parseLong(args[1]) : 2000);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("smp")) {
+            parallelBenchmark(stats);
+            return;
+        }
+        if (args.length > 4 && args[0].equals("timed")) {
+            timedGame(Integer.parseInt(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]),
+                    Long.parseLong(args[4]), stats);
+            return;
+        }
+        Node initialState = new Node();
+        Stack<Node> finished = new Stack<Node>();
+        initialState.state[0] = ".";
+        initialState.state[1] = ".";
+        initialState.state[2] = ".";
+        initialState.state[3] = ".";
+        initialState.state[4] = ".";
+        initialState.state[5] = ".";
+        initialState.state[6] = ".";
+        initialState.state[7] = ".";
+        initialState.state[8] = ".";
+
+        initialState.move = Turn.x;
+        initialState.movesLeft = 9;
+        Node finalized = miniMaxCut(initialState, stats);
+        createStack(finalized, finished);
+        printStack(finished);
+    }
+
+    /**
+     * Searches the empty board the given number of times, with exact root
+     * values as the game does, and prints the child boards made per second,
+     * first without the transposition table and then with it.
+     *
+     * @param runs
+     *            searches to time
+     */
+    public static void benchmark(int runs) {
+        PositionTable saved = table;
+        table = null;
+        timeSearch("no table", runs);
+        table = saved;
+        timeSearch("table", runs);
+        System.out.println("  " + table.probes / runs + " probes each, hit rate " + (int) (100 * table.hitRate())
+                + "%");
+    }
+
+    /**
+     * Prints one line of {@link #benchmark}. The table is cleared before
+     * every search.
+     */
+    private static void timeSearch(String name, int runs) {
+        int[][] line = new int[10][10];
+        int[] minimax = new int[9];
+        SearchStats stats = new SearchStats();
+        //warm up before timing
+        for (int k = 0; k < runs; k++) {
+            if (table != null) {
+                table.clear();
+            }
+            findMax(0, 0, 0, line, minimax, Integer.MIN_VALUE, Integer.MAX_VALUE, stats);
+        }
+        long probes = 0;
+        long hits = 0;
+        stats.start();
+        long start = System.nanoTime();
+        for (int k = 0; k < runs; k++) {
+            if (table != null) {
+                table.clear();
+            }
+            findMax(0, 0, 0, line, minimax, Integer.MIN_VALUE, Integer.MAX_VALUE, stats);
+            if (table != null) {
+                probes += table.probes;
+                hits += table.hits;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        stats.stop();
+        if (table != null) {
+            table.probes = probes;
+            table.hits = hits;
+        }
+        long nodes = stats.getGenerated();
+        System.out.println(name + ", " + runs + " searches: " + nodes / runs + " nodes each, " + elapsed / runs
+                / 1000 + " us each, " + nodes * 1000 / elapsed + " million nodes per second");
+    }
+
+    /**
+     * Plays the game the given number of times with the printing switched
+     * off and prints the bytes allocated, the garbage collections and the
+     * peak heap per game.
+     *
+     * @param games
+     *            games to play
+     */
+    public static void memoryBenchmark(int games) {
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                // thrown away
+            }
+        }));
+        //warm up before measuring
+        for (int k = 0; k < games; k++) {
+            miniMaxCut(emptyBoard(), null);
+        }
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+        long collections = 0;
+        long collecting = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collections -= collector.getCollectionCount();
+            collecting -= collector.getCollectionTime();
+        }
+        long allocated = Allocation.allocatedBytes();
+        long start = System.nanoTime();
+        for (int k = 0; k < games; k++) {
+            miniMaxCut(emptyBoard(), null);
+        }
+        long elapsed = System.nanoTime() - start;
+        allocated = Allocation.allocatedBytes() - allocated;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collections += collector.getCollectionCount();
+            collecting += collector.getCollectionTime();
+        }
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.setOut(out);
+        System.out.println(games + " games: " + allocated / games + " bytes allocated and " + elapsed / games / 1000
+                + " us each, " + collections + " collections taking " + collecting + " ms, peak heap "
+                + peak / 1024 + " KB");
+    }
+
+    /**
+     * Makes the empty board with X to move.
+     *
+     * @return the starting state
+     */
+    public static Node emptyBoard() {
+        Node initialState = new Node();
+        Arrays.fill(initialState.state, ".");
+        initialState.move = Turn.x;
+        initialState.movesLeft = 9;
+        return initialState;
+    }
+
+    /**
+     * Cycles through each side's turns.
+     *
+     * @param state
+     *            initial board state
+     * @param stats
+     *            gets the counts of every search of the game added up, or
+     *            null to not count them; each move's counts are printed as
+     *            JSON as it is made
+     * @return the final game board
+     */
+    public static Node miniMaxCut(Node state, SearchStats stats) {
+        SearchStats move = stats == null ? null : new SearchStats();
+        if (stats != null) {
+            stats.start();
+        }
+        Node finalized = state;
+        //get move for each player with depth 4 branching
+        while (checkWin(finalized) == 1) {
+            BestMove best = findBest(finalized, 0, false, move);
+            if (move != null) {
+                System.out.println(move.toJson());
+                stats.merge(move);
+            }
+            finalized = createChild(finalized, best.cell);
+        }
+        if (stats != null) {
+            stats.stop();
+        }
+        return finalized;
+    }
+
+    /**
+     * Finds the best move for the side to move. The root values of X's
+     * first move are printed.
+     *
+     * @param state
+     *            The current board state
+     * @param depth
+     *            The depth it has searched so far.
+     * @param withLine
+     *            true to also fill in the best line
+     * @param stats
+     *            counts what the search does, or null to not count it.
+     *            Depths count from this board; table hits count as
+     *            duplicates.
+     * @return the move, or null if the board is full
+     */
+    public static BestMove findBest(Node state, int depth, boolean withLine, SearchStats stats) {
+        int x = mask(state, "X");
+        int o = mask(state, "O");
+        if ((x | o) == FULL) {
+            return null;
+        }
+        if (stats != null) {
+            stats.start();
+        }
+        int[][] line = new int[10][10];
+        int[] minimax = new int[9];
+        BestMove best = new BestMove();
+        if (state.move == Turn.x) {
+            best.utility = findMax(x, o, depth, line, minimax, Integer.MIN_VALUE, Integer.MAX_VALUE, stats);
+        } else {
+            best.utility = findMin(x, o, depth, line, minimax, Integer.MIN_VALUE, Integer.MAX_VALUE, stats);
+        }
+        //print the utility values for the first move
+        if (state.movesLeft == 9) {
+            printMiniMax(minimax);
+        }
+        best.cell = line[depth][1];
+        if (withLine) {
+            best.line = principalLine(x, o, depth, line, stats);
+        }
+        if (stats != null) {
+            stats.stop();
+        }
+        return best;
+    }
+
+    /**
+     * Finds the Max/ best move for X.
+     *
+     * @param state
+     *            The current board state
+     * @param depth
+     *            The depth it has searched so far.
+     * @param stats
+     *            counts what the search does, or null to not count it
+     * @return the last state of the best line, with its Utility value
+     */
+    public static Node findMax(Node state, int depth, SearchStats stats) {
+        BestMove best = findBest(state, depth, true, stats);
+        return best == null ? null : playLine(state, best.line, best.utility);
+    }
+
+    /**
+     * Find the Min/Best move for O.
+     *
+     * @param state
+     *            Current board state.
+     * @param depth
+     *            Current searched depth.
+     * @param stats
+     *            counts what the search does, or null to not count it
+     * @return the last state of the best line, with its Utility value
+     */
+    public static Node findMin(Node state, int depth, SearchStats stats) {
+        BestMove best = findBest(state, depth, true, stats);
+        return best == null ? null : playLine(state, best.line, best.utility);
+    }
+
+    /**
+     * Finds the Max/ best move for X on a bitboard, cut off below depth 4,
+     * with alpha-beta pruning and the transposition table.
+     *
+     * @param x
+     *            cells taken by X
+     * @param o
+     *            cells taken by O
+     * @param depth
+     *            The depth it has searched so far.
+     * @param line
+     *            line[depth] gets the best line from here: its length, then
+     *            the cells played. A table hit below can cut it short.
+     * @param minimax
+     *            gets the utility of every move, or null. When given, this
+     *            board is not looked up and every move is searched with the
+     *            full window, so the values and the line's first move are
+     *            exact.
+     * @param alpha
+     *            X is already sure of at least this much elsewhere
+     * @param beta
+     *            O is already sure of at most this much elsewhere
+     * @param stats
+     *            counts what the search does, or null to not count it
+     * @return the Max Utility value; at or above beta it is only a lower
+     *         bound
+     */
+    public static int findMax(int x, int o, int depth, int[][] line, int[] minimax, int alpha, int beta,
+            SearchStats stats) {
+        int key = x | o << 9 | depth << 18;
+        if (table != null && minimax == null) {
+            int slot = table.find(key);
+            if (slot >= 0 && table.settles(slot, alpha, beta)) {
+                if (stats != null) {
+                    stats.duplicate();
+                }
+                return table.value(slot);
+            }
+        }
+        if (stats != null) {
+            stats.expanded(depth);
+        }
+        int start = alpha;
+        int max = Integer.MIN_VALUE;
+        int best = 0;
+        for (int empty = FULL & ~(x | o); empty != 0; empty &= empty - 1) {
+            int cell = empty & -empty;
+            if (stats != null) {
+                stats.generated();
+            }
+            line[depth + 1][0] = 0;
+            int utility = checkWin(x | cell, o);
+            //Check terminal state
+            if (utility == 1) {
+                //Check cutoff
+                if (depth <= 4) {
+                    utility = findMin(x | cell, o, depth + 1, line, null, alpha, beta, stats);
+                } else {
+                    utility = utilityHeuristic(x | cell, o);
+                }
+            }
+            if (minimax != null) {
+                minimax[Integer.numberOfTrailingZeros(cell)] = utility;
+            }
+            //find the Max utility
+            if (max < utility) {
+                max = utility;
+                best = cell;
+                keepLine(line, depth, cell);
+            }
+            if (minimax == null) {
+                if (max >= beta) {
+                    break;
+                }
+                alpha = Math.max(alpha, max);
+            }
+        }
+        if (table != null) {
+            table.store(key, Integer.bitCount(FULL & ~(x | o)), max, minimax == null ? start : Integer.MIN_VALUE,
+                    beta, Integer.numberOfTrailingZeros(best));
+        }
+        return max;
+    }
+
+    /**
+     * Find the Min/Best move for O on a bitboard with alpha-beta pruning and
+     * the transposition table.
+     *
+     * @param x
+     *            cells taken by X
+     * @param o
+     *            cells taken by O
+     * @param depth
+     *            Current searched depth.
+     * @param line
+     *            line[depth] gets the best line from here
+     * @param minimax
+     *            gets the utility of every move, or null; see findMax
+     * @param alpha
+     *            X is already sure of at least this much elsewhere
+     * @param beta
+     *            O is already sure of at most this much elsewhere
+     * @param stats
+     *            counts what the search does, or null to not count it
+     * @return the lowest Utility value; at or below alpha it is only an
+     *         upper bound
+     */
+    public static int findMin(int x, int o, int depth, int[][] line, int[] minimax, int alpha, int beta,
+            SearchStats stats) {
+        int key = x | o << 9 | depth << 18;
+        if (table != null && minimax == null) {
+            int slot = table.find(key);
+            if (slot >= 0 && table.settles(slot, alpha, beta)) {
+                if (stats != null) {
+                    stats.duplicate();
+                }
+                return table.value(slot);
+            }
+        }
+        if (stats != null) {
+            stats.expanded(depth);
+        }
+        int start = beta;
+        int min = Integer.MAX_VALUE;
+        int best = 0;
+        for (int empty = FULL & ~(x | o); empty != 0; empty &= empty - 1) {
+            int cell = empty & -empty;
+            if (stats != null) {
+                stats.generated();
+            }
+            line[depth + 1][0] = 0;
+            int utility = checkWin(x, o | cell);
+            if (utility == 1) {
+                if (depth <= 4) {
+                    utility = findMax(x, o | cell, depth + 1, line, null, alpha, beta, stats);
+                } else {
+                    utility = utilityHeuristic(x, o | cell);
+                }
+            }
+            if (minimax != null) {
+                minimax[Integer.numberOfTrailingZeros(cell)] = utility;
+            }
+            if (min > utility) {
+                min = utility;
+                best = cell;
+                keepLine(line, depth, cell);
+            }
+            if (minimax == null) {
+                if (min <= alpha) {
+                    break;
+                }
+                beta = Math.min(beta, min);
+            }
+        }
+        if (table != null) {
+            table.store(key, Integer.bitCount(FULL & ~(x | o)), min, alpha, minimax == null ? start
+                    : Integer.MAX_VALUE, Integer.numberOfTrailingZeros(best));
+        }
+        return min;
+    }
+
+    /**
+     * Makes the best line at a depth the given move followed by the best
+     * line found under it.
+     *
+     * @param line
+     *            best lines by depth
+     * @param depth
+     *            depth of the move
+     * @param cell
+     *            bit of the cell played
+     */
+    static void keepLine(int[][] line, int depth, int cell) {
+        int[] own = line[depth];
+        int[] child = line[depth + 1];
+        own[1] = Integer.numberOfTrailingZeros(cell);
+        System.arraycopy(child, 1, own, 2, child[0]);
+        own[0] = child[0] + 1;
+    }
+
+    /**
+     * Reads the best line out of a bitboard search. Where a table hit cut
+     * the line short of the game's end or the depth cutoff, the board it
+     * stops at is searched again at its depth to carry it on, which picks
+     * the same moves a search without the table would have.
+     *
+     * @param x
+     *            cells taken by X at the start of the line
+     * @param o
+     *            cells taken by O at the start of the line
+     * @param depth
+     *            depth of the first move
+     * @param line
+     *            line[depth] holds its length, then the cells played
+     * @param stats
+     *            counts the searches carrying the line on, or null
+     * @return the cells of the line
+     */
+    public static int[] principalLine(int x, int o, int depth, int[][] line, SearchStats stats) {
+        int[] cells = new int[9];
+        int count = 0;
+        int[] minimax = new int[9];
+        while (line[depth][0] > 0) {
+            int[] moves = line[depth];
+            for (int k = 1; k <= moves[0]; k++) {
+                if (Integer.bitCount(x) == Integer.bitCount(o)) {
+                    x |= 1 << moves[k];
+                } else {
+                    o |= 1 << moves[k];
+                }
+                cells[count++] = moves[k];
+            }
+            //the last move was made at depth + moves[0] - 1, past 4 it ends
+            //on the heuristic
+            depth += moves[0];
+            if (checkWin(x, o) != 1 || depth > 5) {
+                break;
+            }
+            if (Integer.bitCount(x) == Integer.bitCount(o)) {
+                findMax(x, o, depth, line, minimax, Integer.MIN_VALUE, Integer.MAX_VALUE, stats);
+            } else {
+                findMin(x, o, depth, line, minimax, Integer.MIN_VALUE, Integer.MAX_VALUE, stats);
+            }
+        }
+        return Arrays.copyOf(cells, count);
+    }
+
+    /**
+     * Builds the Nodes of a line of play.
+     *
+     * @param state
+     *            the board the line starts from
+     * @param line
+     *            the cells played
+     * @param utility
+     *            the value of the line
+     * @return the last state of the line, or null if it is empty
+     */
+    public static Node playLine(Node state, int[] line, int utility) {
+        if (line.length == 0) {
+            return null;
+        }
+        Node next = state;
+        for (int cell : line) {
+            next = createChild(next, cell);
+        }
+        next.utility = utility;
+        return next;
+    }
+
+    /**
+     * Finds the cells a player holds.
+     *
+     * @param state
+     *            the current board state
+     * @param player
+     *            "X" or "O"
+     * @return bit k set if the player holds cell k
+     */
+    public static int mask(Node state, String player) {
+        int mask = 0;
+        for (int k = 0; k < state.state.length; k++) {
+            if (player.equals(state.state[k])) {
+                mask |= 1 << k;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Finds the Max/ best move for X on an m,n,k board with alpha-beta
+     * pruning, scoring the boards the given number of moves ahead with the
+     * board's window heuristic. The board is changed in place and put back.
+     * If the board has a table, boards searched to the same number of moves
+     * are looked up in it. If it has a MoveOrdering, moves are tried in
+     * that order instead of lowest first.
+     *
+     * @param board
+     *            the board, X to move
+     * @param plies
+     *            moves to look ahead, at least 1
+     * @param alpha
+     *            X is already sure of at least this much elsewhere
+     * @param beta
+     *            O is already sure of at most this much elsewhere
+     * @param move
+     *            move[0] is a cell to try first, or -1, and gets the cell
+     *            of the best move; or null
+     * @return the Max Utility value; at or above beta it is only a lower
+     *         bound
+     */
+    public static int findMax(MnkBoard board, int plies, int alpha, int beta, int[] move) {
+        //the root is never looked up, so it always finds its best move
+        int stored = -1;
+        if (board.table != null && move == null) {
+            long entry = board.table.find(board.hash);
+            if (entry != 0 && MnkTable.plies(entry) == plies && MnkTable.settles(entry, alpha, beta)) {
+                if (board.stats != null) {
+                    board.stats.duplicate();
+                }
+                return MnkTable.value(entry);
+            }
+            stored = entry == 0 ? -1 : MnkTable.move(entry);
+        }
+        if (board.stats != null) {
+            if (move != null) {
+                board.root = board.moves;
+            }
+            board.stats.expanded(board.moves - board.root);
+        }
+        int start = alpha;
+        int max = Integer.MIN_VALUE;
+        int best = -1;
+        //try the given move first, then the rest lowest first or in the
+        //board's order
+        int first = move != null && move[0] >= 0 ? move[0] : -1;
+        long empty = board.empty();
+        if (first >= 0) {
+            empty &= ~(1L << first);
+        }
+        for (int cell = first; cell >= 0 || empty != 0; cell = -1) {
+            if (cell < 0) {
+                cell = board.ordering == null ? board.next(empty) : board.ordering.next(board, empty, stored, true);
+                empty &= ~(1L << cell);
+            }
+            if (outOfBudget(board)) {
+                break;
+            }
+            board.nodes++;
+            if (board.stats != null) {
+                board.stats.generated();
+            }
+            board.play(cell, true);
+            int utility;
+            if (board.winner != 0) {
+                utility = WIN;
+            } else if (board.empty() == 0) {
+                utility = 0;
+            } else if (plies > 1) {
+                utility = findMin(board, plies - 1, alpha, beta, null);
+            } else {
+                utility = board.score;
+            }
+            board.undo(cell, true);
+            if (max < utility) {
+                max = utility;
+                best = cell;
+                if (move != null) {
+                    move[0] = cell;
+                }
+            }
+            if (max >= beta) {
+                if (board.ordering != null) {
+                    board.ordering.cutoff(board, cell, plies, true);
+                }
+                break;
+            }
+            alpha = Math.max(alpha, max);
+        }
+        if (board.table != null && !stopped(board)) {
+            board.table.store(board.hash, plies, max, start, beta, best);
+        }
+        return max;
+    }
+
+    /**
+     * Find the Min/Best move for O on an m,n,k board with alpha-beta
+     * pruning and the board's table and ordering, if it has them.
+     *
+     * @param board
+     *            the board, O to move
+     * @param plies
+     *            moves to look ahead, at least 1
+     * @param alpha
+     *            X is already sure of at least this much elsewhere
+     * @param beta
+     *            O is already sure of at most this much elsewhere
+     * @param move
+     *            move[0] is a cell to try first, or -1, and gets the cell
+     *            of the best move; or null
+     * @return the lowest Utility value; at or below alpha it is only an
+     *         upper bound
+     */
+    public static int findMin(MnkBoard board, int plies, int alpha, int beta, int[] move) {
+        //the root is never looked up, so it always finds its best move
+        int stored = -1;
+        if (board.table != null && move == null) {
+            long entry = board.table.find(board.hash);
+            if (entry != 0 && MnkTable.plies(entry) == plies && MnkTable.settles(entry, alpha, beta)) {
+                if (board.stats != null) {
+                    board.stats.duplicate();
+                }
+                return MnkTable.value(entry);
+            }
+            stored = entry == 0 ? -1 : MnkTable.move(entry);
+        }
+        if (board.stats != null) {
+            if (move != null) {
+                board.root = board.moves;
+            }
+            board.stats.expanded(board.moves - board.root);
+        }
+        int start = beta;
+        int min = Integer.MAX_VALUE;
+        int best = -1;
+        //try the given move first, then the rest lowest first or in the
+        //board's order
+        int first = move != null && move[0] >= 0 ? move[0] : -1;
+        long empty = board.empty();
+        if (first >= 0) {
+            empty &= ~(1L << first);
+        }
+        for (int cell = first; cell >= 0 || empty != 0; cell = -1) {
+            if (cell < 0) {
+                cell = board.ordering == null ? board.next(empty) : board.ordering.next(board, empty, stored, false);
+                empty &= ~(1L << cell);
+            }
+            if (outOfBudget(board)) {
+                break;
+            }
+            board.nodes++;
+            if (board.stats != null) {
+                board.stats.generated();
+            }
+            board.play(cell, false);
+            int utility;
+            if (board.winner != 0) {
+                utility = -WIN;
+            } else if (board.empty() == 0) {
+                utility = 0;
+            } else if (plies > 1) {
+                utility = findMax(board, plies - 1, alpha, beta, null);
+            } else {
+                utility = board.score;
+            }
+            board.undo(cell, false);
+            if (min > utility) {
+                min = utility;
+                best = cell;
+                if (move != null) {
+                    move[0] = cell;
+                }
+            }
+            if (min <= alpha) {
+                if (board.ordering != null) {
+                    board.ordering.cutoff(board, cell, plies, false);
+                }
+                break;
+            }
+            beta = Math.min(beta, min);
+        }
+        if (board.table != null && !stopped(board)) {
+            board.table.store(board.hash, plies, min, alpha, start, best);
+        }
+        return min;
+    }
+
+    /**
+     * Times the root split and Lazy SMP searches against the single
+     * threaded one on 4,4,4 at 9 plies and 7,7,5 at 5 plies, for 1, 2, 4
+     * and more threads up to the number of processors, and checks that
+     * each picks the same move and value. Root split searches without a
+     * table, so it is timed against the single threaded search without
+     * one; Lazy SMP is timed against the single threaded search with a
+     * fresh table of the same size as its own. Every search is run once
+     * untimed first, so none of them is timed before it is compiled.
+     *
+     * @param stats
+     *            counts each parallel search, printed after each line, or
+     *            null to not count them
+     */
+    public static void parallelBenchmark(SearchStats stats) {
+        int[][] games = { { 4, 4, 4, 9 }, { 7, 7, 5, 5 } };
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int[] game : games) {
+            MnkBoard board = new MnkBoard(game[0], game[1], game[2]);
+            int plies = game[3];
+            int[] move = { -1 };
+            //warm up before timing
+            findMax(new MnkBoard(game[0], game[1], game[2]), plies, Integer.MIN_VALUE, Integer.MAX_VALUE, move);
+            MnkBoard warmBoard = new MnkBoard(game[0], game[1], game[2]);
+            warmBoard.table = new MnkTable(20);
+            findMax(warmBoard, plies, Integer.MIN_VALUE, Integer.MAX_VALUE, move);
+            ParallelMnkSearch.rootSplit(new MnkBoard(game[0], game[1], game[2]), plies, 1, move);
+            ParallelMnkSearch.lazySmp(new MnkBoard(game[0], game[1], game[2]), plies, 1, new MnkTable(20), move);
+            move[0] = -1;
+            long start = System.nanoTime();
+            int utility = findMax(board, plies, Integer.MIN_VALUE, Integer.MAX_VALUE, move);
+            long single = System.nanoTime() - start;
+            MnkBoard tableBoard = new MnkBoard(game[0], game[1], game[2]);
+            tableBoard.table = new MnkTable(20);
+            int[] tableMove = { -1 };
+            start = System.nanoTime();
+            int tableUtility = findMax(tableBoard, plies, Integer.MIN_VALUE, Integer.MAX_VALUE, tableMove);
+            long singleTable = System.nanoTime() - start;
+            System.out.println(game[0] + "," + game[1] + "," + game[2] + "-game, " + plies + " plies, "
+                    + processors + " processors: single thread " + board.nodes + " nodes, " + single / 1000000
+                    + " ms, with table " + tableBoard.nodes + " nodes, " + singleTable / 1000000
+                    + " ms, best cell " + move[0] + ", value " + utility
+                    + (tableMove[0] == move[0] && tableUtility == utility ? "" : " DIFFERENT"));
+            board.stats = stats;
+            for (int threads = 1; threads <= Math.max(4, processors); threads *= 2) {
+                int[] splitMove = new int[1];
+                if (stats != null) {
+                    stats.start();
+                }
+                long splitNodes = board.nodes;
+                start = System.nanoTime();
+                int splitValue = ParallelMnkSearch.rootSplit(board, plies, threads, splitMove);
+                long split = System.nanoTime() - start;
+                splitNodes = board.nodes - splitNodes;
+                String splitStats = null;
+                if (stats != null) {
+                    stats.stop();
+                    splitStats = stats.toJson();
+                    stats.start();
+                }
+                int[] smpMove = new int[1];
+                long smpNodes = board.nodes;
+                start = System.nanoTime();
+                int smpValue = ParallelMnkSearch.lazySmp(board, plies, threads, new MnkTable(20), smpMove);
+                long smp = System.nanoTime() - start;
+                smpNodes = board.nodes - smpNodes;
+                System.out.println("  " + threads + " threads: root split " + splitNodes + " nodes, " + split
+                        / 1000000 + " ms, x" + (double) Math.round(10.0 * single / split) / 10
+                        + (splitMove[0] == move[0] && splitValue == utility ? "" : " DIFFERENT") + "; lazy smp "
+                        + smpNodes + " nodes, " + smp / 1000000 + " ms, x"
+                        + (double) Math.round(10.0 * singleTable / smp) / 10
+                        + (smpMove[0] == move[0] && smpValue == utility ? "" : " DIFFERENT"));
+                if (stats != null) {
+                    stats.stop();
+                    System.out.println(splitStats);
+                    System.out.println(stats.toJson());
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks the budget of the m,n,k search running on a board.
+     *
+     * @param board
+     *            the board being searched
+     * @return true once the search has run out of nodes or time, or was
+     *         told to stop
+     */
+    static boolean outOfBudget(MnkBoard board) {
+        return board.budget != null && board.budget.spent(board.nodes);
+    }
+
+    /**
+     * Tells if the m,n,k search running on a board was stopped, so its
+     * results must not be kept.
+     *
+     * @param board
+     *            the board being searched
+     * @return true if its budget is stopped
+     */
+    static boolean stopped(MnkBoard board) {
+        return board.budget != null && board.budget.stopped;
+    }
+
+    /**
+     * Picks a move on an m,n,k board within a budget. Searches 1, 2, 3 and
+     * more moves ahead, each pass trying the last pass's best move first,
+     * until the time or nodes run out, a win or loss is certain, or the
+     * search reaches the end of the game. The unfinished pass is thrown
+     * away, so the move comes from the deepest pass that completed, and its
+     * depth is left in board.depthReached. The budget belongs to this
+     * search alone, so searches of other boards can run at the same time.
+     * The search counts on board.stats when it is set.
+     *
+     * @param board
+     *            the board; X to move when an even number of stones are
+     *            down
+     * @param millis
+     *            time allowed
+     * @param nodes
+     *            child boards allowed
+     * @return the cell to play, or -1 if the board is full
+     */
+    public static int iterativeDeepening(MnkBoard board, long millis, long nodes) {
+        boolean forX = board.moves % 2 == 0;
+        long empty = board.empty();
+        int best = empty == 0 ? -1 : Long.numberOfTrailingZeros(empty);
+        board.depthReached = 0;
+        board.budget = new MnkBudget(board.nodes + Math.min(nodes, Long.MAX_VALUE - board.nodes),
+                System.nanoTime() + millis * 1000000);
+        if (board.stats != null) {
+            board.stats.start();
+        }
+        int[] move = new int[1];
+        for (int plies = 1; plies <= Long.bitCount(empty); plies++) {
+            move[0] = best;
+            int utility;
+            if (forX) {
+                utility = findMax(board, plies, Integer.MIN_VALUE, Integer.MAX_VALUE, move);
+            } else {
+                utility = findMin(board, plies, Integer.MIN_VALUE, Integer.MAX_VALUE, move);
+            }
+            if (board.budget.stopped) {
+                break;
+            }
+            best = move[0];
+            board.depthReached = plies;
+            if (Math.abs(utility) == WIN) {
+                break;
+            }
+        }
+        if (board.stats != null) {
+            board.stats.stop();
+        }
+        board.budget = null;
+        return best;
+    }
+
+    /**
+     * Plays out a whole m,n,k-game, each side choosing its moves by
+     * iterativeDeepening within the same time budget, and prints every
+     * move and the final board.
+     *
+     * @param width
+     *            number of columns
+     * @param height
+     *            number of rows
+     * @param k
+     *            stones in a row that win
+     * @param millis
+     *            time allowed per move
+     * @param stats
+     *            counts each move's search, printed after the move, or null
+     *            to not count them
+     */
+    public static void timedGame(int width, int height, int k, long millis, SearchStats stats) {
+        MnkBoard board = new MnkBoard(width, height, k);
+        board.stats = stats;
+        while (board.winner == 0 && board.empty() != 0) {
+            boolean forX = board.moves % 2 == 0;
+            long nodes = board.nodes;
+            long start = System.nanoTime();
+            int cell = iterativeDeepening(board, millis, Long.MAX_VALUE);
+            System.out.println((forX ? "X" : "O") + " plays " + cell + " after " + board.depthReached + " plies, "
+                    + (board.nodes - nodes) + " nodes, " + (System.nanoTime() - start) / 1000000 + " ms");
+            if (stats != null) {
+                System.out.println(stats.toJson());
+            }
+            board.play(cell, forX);
+        }
+        for (int cell = 0; cell < width * height; cell++) {
+            if (cell % width == 0) {
+                System.out.println();
+            }
+            if ((board.x & 1L << cell) != 0) {
+                System.out.print("X  ");
+            } else if ((board.o & 1L << cell) != 0) {
+                System.out.print("O  ");
+            } else {
+                System.out.print(".  ");
+            }
+        }
+        System.out.println();
+        System.out.println(board.winner > 0 ? "X wins" : board.winner < 0 ? "O wins" : "Draw");
+    }
+
+    /**
+     * Times the depth limited search from the empty 3,3,3, 4,4,4 and 7,7,5
+     * boards, looking one more move ahead each time until a search takes
+     * over the given time or reaches the end of the game.
+     *
+     * @param millis
+     *            time after which no deeper search is started
+     */
+    public static void mnkBenchmark(long millis) {
+        int[][] games = { { 3, 3, 3 }, { 4, 4, 4 }, { 7, 7, 5 } };
+        for (int[] game : games) {
+            MnkBoard board = new MnkBoard(game[0], game[1], game[2]);
+            System.out.println(game[0] + "," + game[1] + "," + game[2] + "-game, " + board.lines.length
+                    + " windows:");
+            long elapsed = 0;
+            int[] move = new int[1];
+            for (int plies = 1; plies <= game[0] * game[1] && elapsed < millis * 1000000; plies++) {
+                board.nodes = 0;
+                move[0] = -1;
+                long start = System.nanoTime();
+                int utility = findMax(board, plies, Integer.MIN_VALUE, Integer.MAX_VALUE, move);
+                elapsed = System.nanoTime() - start;
+                System.out.println("  " + plies + " plies: " + board.nodes + " nodes, " + elapsed / 1000000
+                        + " ms, best cell " + move[0] + ", value " + utility);
+            }
+        }
+    }
+
+    /**
+     * Deepens the search one move at a time from the empty 3,3,3, 4,4,4 and
+     * 7,7,5 boards under each move ordering, all with a table and each pass
+     * trying the last pass's move first, and prints the nodes and time
+     * taken to reach each depth. Stops an ordering once it has used up the
+     * given time, and marks with a ! any value that differs from lowest
+     * first.
+     *
+     * @param millis
+     *            time after which no deeper search is started
+     */
+    public static void orderingBenchmark(long millis) {
+        int[][] games = { { 3, 3, 3 }, { 4, 4, 4 }, { 7, 7, 5 } };
+        String[] names = { "lowest first", "table move", "killers", "history", "prior", "all" };
+        boolean[][] parts = { null, { true, false, false, false }, { true, true, false, false },
+                { true, true, true, false }, { true, false, false, true }, { true, true, true, true } };
+        for (int[] game : games) {
+            System.out.println(game[0] + "," + game[1] + "," + game[2] + "-game:");
+            int[] values = new int[game[0] * game[1] + 1];
+            //depths lowest first did not reach have nothing to compare with
+            Arrays.fill(values, Integer.MIN_VALUE);
+            for (int order = 0; order < names.length; order++) {
+                MnkBoard board = new MnkBoard(game[0], game[1], game[2]);
+                board.table = new MnkTable(20);
+                if (parts[order] != null) {
+                    board.ordering = new MoveOrdering(board, parts[order][0], parts[order][1], parts[order][2],
+                            parts[order][3]);
+                }
+                StringBuilder depths = new StringBuilder();
+                int[] move = { -1 };
+                long start = System.nanoTime();
+                long elapsed = 0;
+                for (int plies = 1; plies <= game[0] * game[1] && elapsed < millis * 1000000; plies++) {
+                    int utility = findMax(board, plies, Integer.MIN_VALUE, Integer.MAX_VALUE, move);
+                    elapsed = System.nanoTime() - start;
+                    if (order == 0) {
+                        values[plies] = utility;
+                    }
+                    depths.append(" " + plies + ":" + board.nodes + "/" + elapsed / 1000000
+                            + (values[plies] == utility || values[plies] == Integer.MIN_VALUE ? "" : "!"));
+                }
+                System.out.println("  " + names[order] + ", nodes/ms to depth:" + depths);
+            }
+        }
+    }
+
+    /**
+     * Creates the next board state.
+     *
+     * @param parent
+     *            the current board state
+     * @param index
+     *            the next possible open move
+     * @return the Child of the parent state at the position specified.
+     */
+    public static Node createChild(Node parent, int index) {
+        Node child = new Node();
+        System.arraycopy(parent.state, 0, child.state, 0, parent.state.length);
+        if (parent.move == Turn.x) {
+            child.state[index] = "X";
+            child.move = Turn.o;
+        } else {
+            child.state[index] = "O";
+            child.move = Turn.x;
+        }
+        child.movesLeft = parent.movesLeft - 1;
+        child.parentNode = parent;
+        return child;
+    }
+
+    /**
+     * Check if the state is a Terminal State
+     *
+     * @param state
+     *            the current board state
+     * @return 10,-10 or 0 if Terminal. 1 otherwise.
+     */
+    public static int checkWin(Node state) {
+        return checkWin(mask(state, "X"), mask(state, "O"));
+    }
+
+    /**
+     * Check if a bitboard is a Terminal State
+     *
+     * @param x
+     *            cells taken by X
+     * @param o
+     *            cells taken by O
+     * @return 10,-10 or 0 if Terminal. 1 otherwise.
+     */
+    public static int checkWin(int x, int o) {
+        for (int line : LINES) {
+            if ((x & line) == line) {
+                return 10;
+            }
+            if ((o & line) == line) {
+                return -10;
+            }
+        }
+        if ((x | o) == FULL) {
+            return 0;
+        }
+        return 1;
+    }
+
+    /**
+     * Calculates the Utility value for a non terminal location
+     *
+     * @param state
+     *            current board state
+     * @return the utility value of the current board state.
+     */
+    public static int utilityHeuristic(Node state) {
+        return utilityHeuristic(mask(state, "X"), mask(state, "O"));
+    }
+
+    /**
+     * Calculates the Utility value for a non terminal bitboard.
+     *
+     * @param x
+     *            cells taken by X
+     * @param o
+     *            cells taken by O
+     * @return the utility value of the board.
+     */
+    public static int utilityHeuristic(int x, int o) {
+        return SIDE_SCORE[x] - SIDE_SCORE[o];
+    }
+
+    /**
+     * Prints out the minimax of the first move.
+     *
+     * @param minimax
+     *            the minimax values of each move
+     */
+    public static void printMiniMax(int[] minimax) {
+        System.out.println("-------Hminimax values for X's first Move-------");
+        for (int k = 0; k < minimax.length; k++) {
+            if (k % 3 == 0) {
+                System.out.println();
+            }
+            System.out.print(minimax[k] + " ");
+        }
+        System.out.println();
+        System.out.println();
+        System.out.println("----------------Optimal Play-------------------");
+    }
+
+    /**
+     * Creates a stack of the solution to print later.
+     *
+     * @param finalized
+     *            the last state
+     * @param finished
+     *            the stack of all the moves.
+     */
+    public static void createStack(Node finalized, Stack<Node> finished) {
+        Node next = finalized;
+        while (next.parentNode != null) {
+            finalized = next.parentNode;
+            finished.push(next);
+            next = finalized;
+        }
+    }
+
+    /**
+     * Prints the stack of all the moves made.
+     *
+     * @param finished
+     *            the stack of all the moves made.
+     */
+    public static void printStack(Stack<Node> finished) {
+        while (!finished.empty()) {
+            Node next = finished.pop();
+            movePrinter(next);
+            System.out.println();
+        }
+    }
+
+    /**
+     * Prints out the state of the board from entered.
+     *
+     * @param move
+     *            the state of the board to print.
+     */
+    public static void movePrinter(Node move) {
+        for (int k = 0; k < move.state.length; k++) {
+            if (k % 3 == 0) {
+                System.out.println();
+            }
+            System.out.print(move.state[k] + "  ");
+        }
+    }
+}
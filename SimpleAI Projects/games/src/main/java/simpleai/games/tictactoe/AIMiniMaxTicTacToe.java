@@ -0,0 +1,859 @@
+package simpleai.games.tictactoe;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Stack;
+
+import simpleai.core.PositionTable;
+import simpleai.core.SearchStats;
+
+/**
+ * MiniMax on a TicTacToe board, searched as a pair of 9 bit masks.
+ */
+public final class AIMiniMaxTicTacToe extends Node {
+
+    /**
+     * Rows, columns and diagonals of the board; bit k stands for cell k.
+     */
+    static final int[] LINES = { 0x007, 0x038, 0x1C0, 0x049, 0x092, 0x124, 0x111, 0x054 };
+
+    /**
+     * Every cell of the board.
+     */
+    static final int FULL = 0x1FF;
+
+    /**
+     * Every cell mask under each of the 8 rotations and reflections of the
+     * board.
+     */
+    static final int[][] SYMMETRIES = new int[8][FULL + 1];
+
+    static {
+        for (int turn = 0; turn < 8; turn++) {
+            for (int cell = 0; cell < 9; cell++) {
+                int row = cell / 3;
+                int column = cell % 3;
+                //turn the board a quarter at a time, mirroring the last four
+                for (int k = 0; k < turn % 4; k++) {
+                    int last = row;
+                    row = column;
+                    column = 2 - last;
+                }
+                if (turn >= 4) {
+                    column = 2 - column;
+                }
+                int image = 1 << (3 * row + column);
+                for (int mask = 0; mask <= FULL; mask++) {
+                    if ((mask & 1 << cell) != 0) {
+                        SYMMETRIES[turn][mask] |= image;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Boards already searched, keyed by their canonical form, or null to
+     * search without one.
+     */
+    public static PositionTable table = new PositionTable(12);
+
+    /**
+     * Solved boards to answer from instead of searching, or null.
+     */
+    static Tablebase book;
+
+    /**
+     * Default constructor--private to prevent instantiation.
+     */
+    private AIMiniMaxTicTacToe() {
+        // no code needed here
+    }
+
+    /**
+     * Main method.
+     *
+     * @param args
+     *            the command line arguments; "bench" times the search
+     *            instead of playing, "book" plays from a tablebase file and
+     *            times it; "stats" first also prints what the searches did
+     *            as JSON
+     * @throws IOException
+     *             if a tablebase file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        SearchStats stats = null;
+        if (args.length > 0 && args[0].equals("stats")) {
+            stats = new SearchStats();
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+        if (args.length > 0 && args[0].equals("bench")) {
+            benchmark(200);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("book")) {
+            book = loadBook(new File("ttt-3x3.bin"), 3, 3, 3, 9);
+        }
+        Node initialState = new Node();
+        Stack<Node> finished = new Stack<Node>();
+        initialState.state[0] = ".";
+        initialState.state[1] = ".";
+        initialState.state[2] = ".";
+        initialState.state[3] = ".";
+        initialState.state[4] = ".";
+        initialState.state[5] = ".";
+        initialState.state[6] = ".";
+        initialState.state[7] = ".";
+        initialState.state[8] = ".";
+
+        initialState.move = Turn.x;
+        initialState.movesLeft = 9;
+        Node finalized = findMax(initialState, stats);
+        createStack(finalized, finished);
+        printStack(finished);
+        if (stats != null) {
+            System.out.println(stats.toJson());
+        }
+        if (book != null) {
+            bookBenchmark();
+        }
+    }
+
+    /**
+     * Reads a tablebase from a file, solving and writing it first if
+     * needed, and prints how long that took.
+     *
+     * @param file
+     *            the tablebase file
+     * @param width
+     *            number of columns
+     * @param height
+     *            number of rows
+     * @param k
+     *            stones in a row that win
+     * @param maxEmpty
+     *            most empty cells of a stored board
+     * @return the table, memory-mapped
+     * @throws IOException
+     *             if the file cannot be read or written
+     */
+    public static Tablebase loadBook(File file, int width, int height, int k, int maxEmpty) throws IOException {
+        long start = System.nanoTime();
+        Tablebase loaded = Tablebase.loadOrBuild(file, width, height, k, maxEmpty, true);
+        System.out.println(file + ": " + file.length() + " bytes, ready in " + (System.nanoTime() - start) / 1000000
+                + " ms");
+        return loaded;
+    }
+
+    /**
+     * Checks the tic-tac-toe book against the search on every board a game
+     * can reach, times a lookup against a search, and then times a 4x4
+     * endgame table on boards with 8 empty cells left.
+     *
+     * @throws IOException
+     *             if the 4x4 file cannot be read or written
+     */
+    public static void bookBenchmark() throws IOException {
+        Tablebase saved = book;
+        book = null;
+        int[] counts = new int[2];
+        long start = System.nanoTime();
+        compareBook(saved, 0, 0, counts);
+        long searched = System.nanoTime() - start;
+        book = saved;
+        System.out.println(counts[0] + " of " + counts[1] + " boards agree with the search");
+        int lookups = 0;
+        start = System.nanoTime();
+        for (int k = 0; k < 100; k++) {
+            lookups += lookupAll(saved, 0, 0);
+        }
+        long looked = System.nanoTime() - start;
+        System.out.println("search: " + searched / counts[1] + " ns a board, book: " + looked / lookups
+                + " ns a board");
+
+        Tablebase endgame = loadBook(new File("ttt-4x4.bin"), 4, 4, 4, 8);
+        Random random = new Random(1);
+        long[][] boards = new long[10000][];
+        for (int k = 0; k < boards.length; k++) {
+            boards[k] = randomBoard(endgame, random, 8);
+        }
+        int[] outcomes = new int[4];
+        start = System.nanoTime();
+        for (int run = 0; run < 100; run++) {
+            for (long[] board : boards) {
+                outcomes[Tablebase.outcome(endgame.find(board[0], board[1]))]++;
+            }
+        }
+        looked = System.nanoTime() - start;
+        System.out.println("4x4, 8 empty: " + looked / (100 * boards.length) + " ns a board, X wins "
+                + outcomes[Tablebase.X_WINS] / 100 + ", draws " + outcomes[Tablebase.DRAW] / 100 + ", O wins "
+                + outcomes[Tablebase.O_WINS] / 100 + " of " + boards.length);
+    }
+
+    /**
+     * Walks every board a game can reach from x and o, counting the boards
+     * where the book gives the search's value and move.
+     */
+    private static void compareBook(Tablebase saved, int x, int o, int[] counts) {
+        if (checkWin(x, o) != 1) {
+            return;
+        }
+        Node state = new Node();
+        for (int k = 0; k < 9; k++) {
+            state.state[k] = (x & 1 << k) != 0 ? "X" : (o & 1 << k) != 0 ? "O" : ".";
+        }
+        state.move = Integer.bitCount(x) == Integer.bitCount(o) ? Turn.x : Turn.o;
+        BestMove searched = findBest(state, false, null);
+        int entry = saved.find(x, o);
+        counts[1]++;
+        if (bookUtility(entry) == searched.utility && Tablebase.move(entry) == searched.cell) {
+            counts[0]++;
+        }
+        for (int empty = FULL & ~(x | o); empty != 0; empty &= empty - 1) {
+            if (state.move == Turn.x) {
+                compareBook(saved, x | empty & -empty, o, counts);
+            } else {
+                compareBook(saved, x, o | empty & -empty, counts);
+            }
+        }
+    }
+
+    /**
+     * Looks up every board a game can reach from x and o.
+     *
+     * @return the boards looked up
+     */
+    private static int lookupAll(Tablebase saved, int x, int o) {
+        if (Tablebase.move(saved.find(x, o)) == Tablebase.NO_MOVE) {
+            return 1;
+        }
+        int count = 1;
+        boolean forX = Integer.bitCount(x) == Integer.bitCount(o);
+        for (int empty = FULL & ~(x | o); empty != 0; empty &= empty - 1) {
+            count += forX ? lookupAll(saved, x | empty & -empty, o) : lookupAll(saved, x, o | empty & -empty);
+        }
+        return count;
+    }
+
+    /**
+     * Plays random moves on an empty board until only the given number of
+     * cells is left, starting again whenever the game ends first.
+     *
+     * @return the cells of X and of O
+     */
+    private static long[] randomBoard(Tablebase endgame, Random random, int empty) {
+        int cells = endgame.width * endgame.height;
+        while (true) {
+            long x = 0;
+            long o = 0;
+            for (int stones = 0; stones < cells - empty; stones++) {
+                long open = ~(x | o) & (1L << cells) - 1;
+                long cell;
+                do {
+                    cell = 1L << random.nextInt(cells);
+                } while ((open & cell) == 0);
+                if (stones % 2 == 0) {
+                    x |= cell;
+                } else {
+                    o |= cell;
+                }
+            }
+            long[] board = { x, o };
+            if (Tablebase.move(endgame.find(x, o)) != Tablebase.NO_MOVE) {
+                return board;
+            }
+        }
+    }
+
+    /**
+     * Searches the empty board the given number of times, with exact root
+     * values as the game does, and prints the child boards made per second,
+     * first without the transposition table and then with it.
+     *
+     * @param runs
+     *            searches to time
+     */
+    public static void benchmark(int runs) {
+        PositionTable saved = table;
+        table = null;
+        timeSearch("no table", runs);
+        table = saved;
+        timeSearch("table", runs);
+        System.out.println("  " + table.probes / runs + " probes each, hit rate " + (int) (100 * table.hitRate())
+                + "%");
+    }
+
+    /**
+     * Prints one line of {@link #benchmark}. The table is cleared before
+     * every search.
+     */
+    private static void timeSearch(String name, int runs) {
+        int[][] line = new int[10][10];
+        int[] minimax = new int[9];
+        SearchStats stats = new SearchStats();
+        //warm up before timing
+        for (int k = 0; k < runs; k++) {
+            if (table != null) {
+                table.clear();
+            }
+            findMax(0, 0, 0, line, minimax, Integer.MIN_VALUE, Integer.MAX_VALUE, stats);
+        }
+        long probes = 0;
+        long hits = 0;
+        stats.start();
+        long start = System.nanoTime();
+        for (int k = 0; k < runs; k++) {
+            if (table != null) {
+                table.clear();
+            }
+            findMax(0, 0, 0, line, minimax, Integer.MIN_VALUE, Integer.MAX_VALUE, stats);
+            if (table != null) {
+                probes += table.probes;
+                hits += table.hits;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        stats.stop();
+        if (table != null) {
+            table.probes = probes;
+            table.hits = hits;
+        }
+        long nodes = stats.getGenerated();
+        System.out.println(name + ", " + runs + " searches: " + nodes / runs + " nodes each, " + elapsed / runs
+                / 1000 + " us each, " + nodes * 1000 / elapsed + " million nodes per second");
+    }
+
+    /**
+     * Finds the best move for the side to move. The root values of X's
+     * first move are printed.
+     *
+     * @param state
+     *            the current state of the board
+     * @param withLine
+     *            true to also fill in the best line
+     * @param stats
+     *            counts what the search does, or null to not count it.
+     *            Depths count from this board; table hits count as
+     *            duplicates.
+     * @return the move, or null if the board is full
+     */
+    public static BestMove findBest(Node state, boolean withLine, SearchStats stats) {
+        int x = mask(state, "X");
+        int o = mask(state, "O");
+        if ((x | o) == FULL) {
+            return null;
+        }
+        if (book != null && book.find(x, o) >= 0) {
+            return bookMove(x, o, state.movesLeft == 9, withLine);
+        }
+        if (stats != null) {
+            stats.start();
+        }
+        int[][] line = new int[10][10];
+        int[] minimax = new int[9];
+        BestMove best = new BestMove();
+        if (state.move == Turn.x) {
+            best.utility = findMax(x, o, 0, line, minimax, Integer.MIN_VALUE, Integer.MAX_VALUE, stats);
+        } else {
+            best.utility = findMin(x, o, 0, line, minimax, Integer.MIN_VALUE, Integer.MAX_VALUE, stats);
+        }
+        if (state.movesLeft == 9) {
+            printMiniMax(minimax);
+        }
+        best.cell = line[0][1];
+        if (withLine) {
+            best.line = principalLine(x, o, line, stats);
+        }
+        if (stats != null) {
+            stats.stop();
+        }
+        return best;
+    }
+
+    /**
+     * Answers findBest from the book: the move is read off the board's
+     * entry, and the line by following the entries to the end of the game.
+     */
+    private static BestMove bookMove(int x, int o, boolean printRoot, boolean withLine) {
+        int entry = book.find(x, o);
+        if (printRoot) {
+            int[] minimax = new int[9];
+            for (int empty = FULL & ~(x | o); empty != 0; empty &= empty - 1) {
+                int cell = empty & -empty;
+                minimax[Integer.numberOfTrailingZeros(cell)] = bookUtility(book.find(x | cell, o));
+            }
+            printMiniMax(minimax);
+        }
+        BestMove best = new BestMove();
+        best.cell = Tablebase.move(entry);
+        best.utility = bookUtility(entry);
+        if (withLine) {
+            int[] cells = new int[9];
+            int count = 0;
+            for (int next = entry; Tablebase.move(next) != Tablebase.NO_MOVE; next = book.find(x, o)) {
+                cells[count++] = Tablebase.move(next);
+                if (Integer.bitCount(x) == Integer.bitCount(o)) {
+                    x |= 1 << Tablebase.move(next);
+                } else {
+                    o |= 1 << Tablebase.move(next);
+                }
+            }
+            best.line = Arrays.copyOf(cells, count);
+        }
+        return best;
+    }
+
+    /**
+     * Turns a book entry's outcome into the search's utility.
+     *
+     * @param entry
+     *            entry from the book
+     * @return 10, -10 or 0
+     */
+    static int bookUtility(int entry) {
+        switch (Tablebase.outcome(entry)) {
+        case Tablebase.X_WINS:
+            return 10;
+        case Tablebase.O_WINS:
+            return -10;
+        default:
+            return 0;
+        }
+    }
+
+    /**
+     * Finds the Max/best move for X
+     * 
+     * @param state
+     *            the current state of the board
+     * @param stats
+     *            counts what the search does, or null to not count it
+     * @return the last state of the best line, with its utility
+     */
+    public static Node findMax(Node state, SearchStats stats) {
+        BestMove best = findBest(state, true, stats);
+        return best == null ? null : playLine(state, best.line, best.utility);
+    }
+
+    /**
+     * Finds the Min/ best move for O.
+     * 
+     * @param state
+     *            current state of the board
+     * @param stats
+     *            counts what the search does, or null to not count it
+     * @return the last state of the best line, with its utility
+     */
+    public static Node findMin(Node state, SearchStats stats) {
+        BestMove best = findBest(state, true, stats);
+        return best == null ? null : playLine(state, best.line, best.utility);
+    }
+
+    /**
+     * Finds the Max/best move for X on a bitboard with alpha-beta pruning
+     * and the transposition table.
+     *
+     * @param x
+     *            cells taken by X
+     * @param o
+     *            cells taken by O
+     * @param ply
+     *            moves made since the root
+     * @param line
+     *            line[ply] gets the best line from here: its length, then
+     *            the cells played. A table hit below can cut it short.
+     * @param minimax
+     *            gets the utility of every move, or null. When given, this
+     *            board is not looked up and every move is searched with the
+     *            full window, so the values and the line's first move are
+     *            exact.
+     * @param alpha
+     *            X is already sure of at least this much elsewhere
+     * @param beta
+     *            O is already sure of at most this much elsewhere
+     * @param stats
+     *            counts what the search does, or null to not count it
+     * @return the highest utility value; at or above beta it is only a
+     *         lower bound
+     */
+    public static int findMax(int x, int o, int ply, int[][] line, int[] minimax, int alpha, int beta,
+            SearchStats stats) {
+        int canonical = table == null ? 0 : canonical(x, o);
+        if (table != null && minimax == null) {
+            int slot = table.find(canonical >>> 3);
+            if (slot >= 0 && table.settles(slot, alpha, beta)) {
+                if (stats != null) {
+                    stats.duplicate();
+                }
+                return table.value(slot);
+            }
+        }
+        if (stats != null) {
+            stats.expanded(ply);
+        }
+        int start = alpha;
+        int max = Integer.MIN_VALUE;
+        int best = 0;
+        //look at every open cell, lowest first
+        for (int empty = FULL & ~(x | o); empty != 0; empty &= empty - 1) {
+            int cell = empty & -empty;
+            if (stats != null) {
+                stats.generated();
+            }
+            line[ply + 1][0] = 0;
+            int utility = checkWin(x | cell, o);
+            if (utility == 1) {
+                utility = findMin(x | cell, o, ply + 1, line, null, alpha, beta, stats);
+            }
+            if (minimax != null) {
+                minimax[Integer.numberOfTrailingZeros(cell)] = utility;
+            }
+            if (max < utility) {
+                max = utility;
+                best = cell;
+                keepLine(line, ply, cell);
+            }
+            if (minimax == null) {
+                if (max >= beta) {
+                    break;
+                }
+                alpha = Math.max(alpha, max);
+            }
+        }
+        store(x, o, canonical, max, minimax == null ? start : Integer.MIN_VALUE, beta, best);
+        return max;
+    }
+
+    /**
+     * Finds the Min/best move for O on a bitboard with alpha-beta pruning
+     * and the transposition table.
+     *
+     * @param x
+     *            cells taken by X
+     * @param o
+     *            cells taken by O
+     * @param ply
+     *            moves made since the root
+     * @param line
+     *            line[ply] gets the best line from here
+     * @param minimax
+     *            gets the utility of every move, or null; see findMax
+     * @param alpha
+     *            X is already sure of at least this much elsewhere
+     * @param beta
+     *            O is already sure of at most this much elsewhere
+     * @param stats
+     *            counts what the search does, or null to not count it
+     * @return the lowest utility value; at or below alpha it is only an
+     *         upper bound
+     */
+    public static int findMin(int x, int o, int ply, int[][] line, int[] minimax, int alpha, int beta,
+            SearchStats stats) {
+        int canonical = table == null ? 0 : canonical(x, o);
+        if (table != null && minimax == null) {
+            int slot = table.find(canonical >>> 3);
+            if (slot >= 0 && table.settles(slot, alpha, beta)) {
+                if (stats != null) {
+                    stats.duplicate();
+                }
+                return table.value(slot);
+            }
+        }
+        if (stats != null) {
+            stats.expanded(ply);
+        }
+        int start = beta;
+        int min = Integer.MAX_VALUE;
+        int best = 0;
+        for (int empty = FULL & ~(x | o); empty != 0; empty &= empty - 1) {
+            int cell = empty & -empty;
+            if (stats != null) {
+                stats.generated();
+            }
+            line[ply + 1][0] = 0;
+            int utility = checkWin(x, o | cell);
+            if (utility == 1) {
+                utility = findMax(x, o | cell, ply + 1, line, null, alpha, beta, stats);
+            }
+            if (minimax != null) {
+                minimax[Integer.numberOfTrailingZeros(cell)] = utility;
+            }
+            if (min > utility) {
+                min = utility;
+                best = cell;
+                keepLine(line, ply, cell);
+            }
+            if (minimax == null) {
+                if (min <= alpha) {
+                    break;
+                }
+                beta = Math.min(beta, min);
+            }
+        }
+        store(x, o, canonical, min, alpha, minimax == null ? start : Integer.MAX_VALUE, best);
+        return min;
+    }
+
+    /**
+     * Finds the smallest key of a board over its 8 rotations and
+     * reflections.
+     *
+     * @param x
+     *            cells taken by X
+     * @param o
+     *            cells taken by O
+     * @return the key, shifted left 3 bits over the index of the symmetry
+     *         that gives it
+     */
+    public static int canonical(int x, int o) {
+        int key = Integer.MAX_VALUE;
+        int turn = 0;
+        for (int k = 0; k < 8; k++) {
+            int next = SYMMETRIES[k][x] | SYMMETRIES[k][o] << 9;
+            if (next < key) {
+                key = next;
+                turn = k;
+            }
+        }
+        return key << 3 | turn;
+    }
+
+    /**
+     * Stores a searched board in the table, if there is one, with its best
+     * move turned the same way as its key.
+     */
+    private static void store(int x, int o, int canonical, int value, int alpha, int beta, int best) {
+        if (table != null) {
+            int move = Integer.numberOfTrailingZeros(SYMMETRIES[canonical & 7][best]);
+            table.store(canonical >>> 3, Integer.bitCount(FULL & ~(x | o)), value, alpha, beta, move);
+        }
+    }
+
+    /**
+     * Makes the best line at ply the given move followed by the best line
+     * found under it.
+     *
+     * @param line
+     *            best lines by ply
+     * @param ply
+     *            ply of the move
+     * @param cell
+     *            bit of the cell played
+     */
+    static void keepLine(int[][] line, int ply, int cell) {
+        int[] own = line[ply];
+        int[] child = line[ply + 1];
+        own[1] = Integer.numberOfTrailingZeros(cell);
+        System.arraycopy(child, 1, own, 2, child[0]);
+        own[0] = child[0] + 1;
+    }
+
+    /**
+     * Reads the best line out of a bitboard search. Where a table hit cut
+     * the line short of the end of the game, the board it stops at is
+     * searched again to carry it on, which picks the same moves a search
+     * without the table would have.
+     *
+     * @param x
+     *            cells taken by X at the start of the line
+     * @param o
+     *            cells taken by O at the start of the line
+     * @param line
+     *            line[0] holds its length, then the cells played
+     * @param stats
+     *            counts the searches carrying the line on, or null
+     * @return the cells of the line
+     */
+    public static int[] principalLine(int x, int o, int[][] line, SearchStats stats) {
+        int[] cells = new int[9];
+        int count = 0;
+        int[] minimax = new int[9];
+        while (line[0][0] > 0) {
+            for (int k = 1; k <= line[0][0]; k++) {
+                if (Integer.bitCount(x) == Integer.bitCount(o)) {
+                    x |= 1 << line[0][k];
+                } else {
+                    o |= 1 << line[0][k];
+                }
+                cells[count++] = line[0][k];
+            }
+            if (checkWin(x, o) != 1) {
+                break;
+            }
+            if (Integer.bitCount(x) == Integer.bitCount(o)) {
+                findMax(x, o, 0, line, minimax, Integer.MIN_VALUE, Integer.MAX_VALUE, stats);
+            } else {
+                findMin(x, o, 0, line, minimax, Integer.MIN_VALUE, Integer.MAX_VALUE, stats);
+            }
+        }
+        return Arrays.copyOf(cells, count);
+    }
+
+    /**
+     * Builds the Nodes of a line of play.
+     *
+     * @param state
+     *            the board the line starts from
+     * @param line
+     *            the cells played
+     * @param utility
+     *            the value of the line
+     * @return the last state of the line, or null if it is empty
+     */
+    public static Node playLine(Node state, int[] line, int utility) {
+        if (line.length == 0) {
+            return null;
+        }
+        Node next = state;
+        for (int cell : line) {
+            next = createChild(next, cell);
+        }
+        next.utility = utility;
+        return next;
+    }
+
+    /**
+     * Finds the cells a player holds.
+     *
+     * @param state
+     *            the current board state
+     * @param player
+     *            "X" or "O"
+     * @return bit k set if the player holds cell k
+     */
+    public static int mask(Node state, String player) {
+        int mask = 0;
+        for (int k = 0; k < state.state.length; k++) {
+            if (player.equals(state.state[k])) {
+                mask |= 1 << k;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Creates the next board state.
+     *
+     * @param parent
+     *            the current board state
+     * @param index
+     *            the next possible open move
+     * @return the Child of the parent state at the position specified.
+     */
+    public static Node createChild(Node parent, int index) {
+        Node child = new Node();
+        System.arraycopy(parent.state, 0, child.state, 0, parent.state.length);
+        if (parent.move == Turn.x) {
+            child.state[index] = "X";
+            child.move = Turn.o;
+        } else {
+            child.state[index] = "O";
+            child.move = Turn.x;
+        }
+        child.movesLeft = parent.movesLeft - 1;
+        child.parentNode = parent;
+        return child;
+    }
+
+    /**
+     * Check if the state is a Terminal State
+     *
+     * @param state
+     *            the current board state
+     * @return 10,-10 or 0 if Terminal. 1 otherwise.
+     */
+    public static int checkWin(Node state) {
+        return checkWin(mask(state, "X"), mask(state, "O"));
+    }
+
+    /**
+     * Check if a bitboard is a Terminal State
+     *
+     * @param x
+     *            cells taken by X
+     * @param o
+     *            cells taken by O
+     * @return 10,-10 or 0 if Terminal. 1 otherwise.
+     */
+    public static int checkWin(int x, int o) {
+        for (int line : LINES) {
+            if ((x & line) == line) {
+                return 10;
+            }
+            if ((o & line) == line) {
+                return -10;
+            }
+        }
+        if ((x | o) == FULL) {
+            return 0;
+        }
+        return 1;
+    }
+
+    /**
+     * Prints out the minimax of the first move.
+     *
+     * @param minimax
+     *            the minimax values of each move
+     */
+    public static void printMiniMax(int[] minimax) {
+        System.out.println("-------minimax values for X's first Move-------");
+        for (int k = 0; k < minimax.length; k++) {
+            if (k % 3 == 0) {
+                System.out.println();
+            }
+            System.out.print(minimax[k] + " ");
+        }
+        System.out.println();
+        System.out.println();
+        System.out.println("----------------Optimal Play-------------------");
+    }
+
+    /**
+     * Creates a stack of the solution to print later.
+     *
+     * @param finalized
+     *            the last state
+     * @param finished
+     *            the stack of all the moves.
+     */
+    public static void createStack(Node finalized, Stack<Node> finished) {
+        Node next = finalized;
+        while (next.parentNode != null) {
+            finalized = next.parentNode;
+            finished.push(next);
+            next = finalized;
+        }
+    }
+
+    /**
+     * Prints the stack of all the moves made.
+     *
+     * @param finished
+     *            the stack of all the moves made.
+     */
+    public static void printStack(Stack<Node> finished) {
+        while (!finished.empty()) {
+            Node next = finished.pop();
+            movePrinter(next);
+            System.out.println();
+        }
+    }
+
+    /**
+     * Prints out the state of the board from entered.
+     *
+     * @param move
+     *            the state of the board to print.
+     */
+    public static void movePrinter(Node move) {
+        for (int k = 0; k < move.state.length; k++) {
+            if (k % 3 == 0) {
+                System.out.println();
+            }
+            System.out.print(move.state[k] + "  ");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package simpleai.games.tictactoe;
+
+/**
+ * What a search decided: the move to make, its value and, if asked for,
+ * the best line of play that follows. Nothing here points back into the
+ * search, so the boards it looked at can all be collected.
+ */
+class BestMove {
+    //cell to play
+    int cell;
+    //utility value of the move
+    int utility;
+    //cells of the best line, the move first, or null
+    int[] line;
+}
@@ -0,0 +1,311 @@
+package simpleai.games.tictactoe;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import simpleai.core.SearchStats;
+
+/**
+ * Board of an m,n,k-game: width x height cells, won by the first player to
+ * get k in a row across, down or along a diagonal. Every window of k cells
+ * in a line is listed once up front, and each move updates the X and O
+ * counts of only the windows through its cell, so both the win test and
+ * the heuristic cost O(windows per cell) per move. Up to 64 cells.
+ */
+public class MnkBoard {
+    final int width;
+    final int height;
+    final int k;
+
+    /**
+     * Every window of k cells in a line, as a mask of its cells.
+     */
+    final long[] lines;
+
+    /**
+     * The windows through each cell, by index into lines.
+     */
+    final int[][] cellLines;
+
+    /**
+     * What a window holding c stones of one side and none of the other is
+     * worth to that side: 3 to the c - 1, as the 3x3 heuristic scores a
+     * pair 3 and a single 1.
+     */
+    private final int[] weights;
+
+    /**
+     * Random keys of an X and of an O on each cell, xor-ed into hash.
+     */
+    private final long[] zobrist;
+
+    private final int[] xCount;
+    private final int[] oCount;
+
+    /**
+     * Cells taken by X.
+     */
+    long x;
+
+    /**
+     * Cells taken by O.
+     */
+    long o;
+
+    /**
+     * Stones on the board.
+     */
+    int moves;
+
+    /**
+     * Sum over the windows of their worth to X less their worth to O.
+     */
+    int score;
+
+    /**
+     * 1 if the last move made k in a row for X, -1 for O, else 0.
+     */
+    int winner;
+
+    /**
+     * Zobrist hash of the stones on the board.
+     */
+    long hash;
+
+    /**
+     * Child boards made on this board by the searches.
+     */
+    public long nodes;
+
+    /**
+     * Table the searches on this board share, or null.
+     */
+    MnkTable table;
+
+    /**
+     * Order the searches on this board try moves in, or null for lowest
+     * first.
+     */
+    MoveOrdering ordering;
+
+    /**
+     * Cell the searches start their lowest first scan of the moves from,
+     * wrapping around, so parallel helpers can walk the moves in different
+     * orders.
+     */
+    int start;
+
+    /**
+     * What the searches on this board did, or null to not count it. Depths
+     * count from root; table hits count as duplicates. iterativeDeepening
+     * starts and stops it, and the parallel searches give each thread its
+     * own and merge them into it.
+     */
+    SearchStats stats;
+
+    /**
+     * Stones on the board at the root of the current search, so its depths
+     * can be counted from there.
+     */
+    int root;
+
+    /**
+     * Budget of the search running on this board, or null for none.
+     */
+    MnkBudget budget;
+
+    /**
+     * Moves looked ahead by the last completed pass of iterativeDeepening
+     * on this board.
+     */
+    int depthReached;
+
+    /**
+     * Makes an empty board.
+     *
+     * @param width
+     *            number of columns
+     * @param height
+     *            number of rows
+     * @param k
+     *            stones in a row that win
+     */
+    public MnkBoard(int width, int height, int k) {
+        if (width * height > 64 || k > Math.max(width, height)) {
+            throw new IllegalArgumentException("Unsupported board " + width + "," + height + "," + k);
+        }
+        this.width = width;
+        this.height = height;
+        this.k = k;
+        //right, down, down right and down left
+        int[][] directions = { { 0, 1 }, { 1, 0 }, { 1, 1 }, { 1, -1 } };
+        long[] found = new long[4 * width * height];
+        int count = 0;
+        for (int row = 0; row < height; row++) {
+            for (int column = 0; column < width; column++) {
+                for (int[] direction : directions) {
+                    int lastRow = row + (k - 1) * direction[0];
+                    int lastColumn = column + (k - 1) * direction[1];
+                    if (lastRow < height && lastColumn >= 0 && lastColumn < width) {
+                        long line = 0;
+                        for (int step = 0; step < k; step++) {
+                            line |= 1L << ((row + step * direction[0]) * width + column + step * direction[1]);
+                        }
+                        found[count++] = line;
+                    }
+                }
+            }
+        }
+        lines = Arrays.copyOf(found, count);
+        cellLines = new int[width * height][];
+        for (int cell = 0; cell < width * height; cell++) {
+            int through = 0;
+            for (long line : lines) {
+                if ((line & 1L << cell) != 0) {
+                    through++;
+                }
+            }
+            cellLines[cell] = new int[through];
+            through = 0;
+            for (int index = 0; index < count; index++) {
+                if ((lines[index] & 1L << cell) != 0) {
+                    cellLines[cell][through++] = index;
+                }
+            }
+        }
+        weights = new int[k + 1];
+        for (int c = 1; c <= k; c++) {
+            weights[c] = c == 1 ? 1 : 3 * weights[c - 1];
+        }
+        xCount = new int[count];
+        oCount = new int[count];
+        zobrist = new long[2 * width * height];
+        Random random = new Random(width * 1000 + height * 10 + k);
+        for (int cell = 0; cell < zobrist.length; cell++) {
+            zobrist[cell] = random.nextLong();
+        }
+    }
+
+    /**
+     * Copies a board, so another thread can search it. The line tables are
+     * shared, the stones and counts are not; the copy has no stats or budget
+     * until it is given its own.
+     *
+     * @param other
+     *            board to copy
+     */
+    MnkBoard(MnkBoard other) {
+        width = other.width;
+        height = other.height;
+        k = other.k;
+        lines = other.lines;
+        cellLines = other.cellLines;
+        weights = other.weights;
+        zobrist = other.zobrist;
+        xCount = other.xCount.clone();
+        oCount = other.oCount.clone();
+        x = other.x;
+        o = other.o;
+        moves = other.moves;
+        score = other.score;
+        winner = other.winner;
+        hash = other.hash;
+        table = other.table;
+        ordering = other.ordering == null ? null : new MoveOrdering(other.ordering);
+        start = other.start;
+        root = other.root;
+    }
+
+    /**
+     * Picks the next move to try from the given cells: the lowest one at or
+     * above start, or else the lowest one.
+     *
+     * @param cells
+     *            moves not yet tried, not empty
+     * @return a cell from the mask
+     */
+    int next(long cells) {
+        long above = cells & (-1L << start);
+        return Long.numberOfTrailingZeros(above != 0 ? above : cells);
+    }
+
+    /**
+     * Finds the cells still open.
+     *
+     * @return mask of the empty cells
+     */
+    long empty() {
+        return ~(x | o) & (width * height == 64 ? -1L : (1L << (width * height)) - 1);
+    }
+
+    /**
+     * Puts a stone down, updating the windows through its cell.
+     *
+     * @param cell
+     *            an empty cell
+     * @param forX
+     *            true for an X, false for an O
+     */
+    void play(int cell, boolean forX) {
+        for (int line : cellLines[cell]) {
+            score -= worth(line);
+            if (forX) {
+                if (++xCount[line] == k) {
+                    winner = 1;
+                }
+            } else if (++oCount[line] == k) {
+                winner = -1;
+            }
+            score += worth(line);
+        }
+        if (forX) {
+            x |= 1L << cell;
+        } else {
+            o |= 1L << cell;
+        }
+        hash ^= zobrist[2 * cell + (forX ? 0 : 1)];
+        moves++;
+    }
+
+    /**
+     * Takes back a stone put down by play.
+     *
+     * @param cell
+     *            the cell played
+     * @param forX
+     *            true for an X, false for an O
+     */
+    void undo(int cell, boolean forX) {
+        for (int line : cellLines[cell]) {
+            score -= worth(line);
+            if (forX) {
+                xCount[line]--;
+            } else {
+                oCount[line]--;
+            }
+            score += worth(line);
+        }
+        if (forX) {
+            x &= ~(1L << cell);
+        } else {
+            o &= ~(1L << cell);
+        }
+        hash ^= zobrist[2 * cell + (forX ? 0 : 1)];
+        moves--;
+        winner = 0;
+    }
+
+    /**
+     * Scores one window from X's side: only a window one side alone holds
+     * can still be won, so a window with both is worth nothing.
+     */
+    private int worth(int line) {
+        if (oCount[line] == 0) {
+            return weights[xCount[line]];
+        }
+        if (xCount[line] == 0) {
+            return -weights[oCount[line]];
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,60 @@
+package simpleai.games.tictactoe;
+
+/**
+ * Budget of one m,n,k search: the nodes and time it may use and a flag that
+ * stops it. A search reaches its budget through the board it searches, so
+ * two searches running at once cannot stop each other or overwrite each
+ * other's limits; the threads of one parallel search share one budget.
+ */
+final class MnkBudget {
+    /**
+     * The search stops once the nodes of the board it searches reach this.
+     */
+    final long nodeLimit;
+
+    /**
+     * The search stops once System.nanoTime() passes this.
+     */
+    final long deadline;
+
+    /**
+     * Set when the search ran out of nodes or time, or was told to stop;
+     * its results are then meaningless and none are stored.
+     */
+    volatile boolean stopped;
+
+    /**
+     * Makes a budget.
+     *
+     * @param nodeLimit
+     *            board nodes at which the search stops
+     * @param deadline
+     *            System.nanoTime() after which the search stops
+     */
+    MnkBudget(long nodeLimit, long deadline) {
+        this.nodeLimit = nodeLimit;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Checks the node and time limits, stopping the search once either has
+     * run out. The clock is only read every 1024 nodes.
+     *
+     * @param nodes
+     *            nodes of the board being searched
+     * @return true once the search is stopped
+     */
+    boolean spent(long nodes) {
+        if (!stopped && (nodes >= nodeLimit || ((nodes & 1023) == 0 && System.nanoTime() > deadline))) {
+            stopped = true;
+        }
+        return stopped;
+    }
+
+    /**
+     * Stops the search.
+     */
+    void stop() {
+        stopped = true;
+    }
+}
@@ -0,0 +1,133 @@
+package simpleai.games.tictactoe;
+
+import simpleai.core.PositionTable;
+
+/**
+ * Transposition table for the m,n,k search that threads can share without
+ * locks. Each slot holds a packed entry and the entry xor-ed with the
+ * board's hash; a slot torn by two threads writing at once no longer
+ * checks out against either hash and reads as empty.
+ */
+class MnkTable {
+    private final long[] checks;
+    private final long[] entries;
+    //the slot is the top bits of the hash
+    private final int shift;
+
+    /**
+     * Makes an empty table.
+     *
+     * @param bits
+     *            log2 of the number of entries, from 1 to 30
+     */
+    MnkTable(int bits) {
+        if (bits < 1 || bits > 30) {
+            throw new IllegalArgumentException("Table size must be 2^1 to 2^30 entries: 2^" + bits);
+        }
+        checks = new long[1 << bits];
+        entries = new long[1 << bits];
+        shift = 64 - bits;
+    }
+
+    /**
+     * Looks a board up.
+     *
+     * @param hash
+     *            the board's hash
+     * @return its entry, or 0 if it is not in the table
+     */
+    long find(long hash) {
+        int slot = (int) (hash >>> shift);
+        long entry = entries[slot];
+        if ((checks[slot] ^ entry) == hash) {
+            return entry;
+        }
+        return 0;
+    }
+
+    /**
+     * Stores a searched board, unless its slot holds another board searched
+     * further ahead.
+     *
+     * @param hash
+     *            the board's hash
+     * @param plies
+     *            moves it was searched ahead
+     * @param value
+     *            value the search returned
+     * @param alpha
+     *            alpha the search started with
+     * @param beta
+     *            beta the search started with
+     * @param move
+     *            cell of the best move
+     */
+    void store(long hash, int plies, int value, int alpha, int beta, int move) {
+        int slot = (int) (hash >>> shift);
+        long old = entries[slot];
+        if (old != 0 && (checks[slot] ^ old) != hash && plies(old) > plies) {
+            return;
+        }
+        int bound = PositionTable.EXACT;
+        if (value <= alpha) {
+            bound = PositionTable.UPPER;
+        } else if (value >= beta) {
+            bound = PositionTable.LOWER;
+        }
+        long entry = 1L << 63 | (long) move << 42 | (long) plies << 34 | (long) bound << 32 | (value & 0xFFFFFFFFL);
+        entries[slot] = entry;
+        checks[slot] = hash ^ entry;
+    }
+
+    /**
+     * Reads the value of an entry.
+     *
+     * @param entry
+     *            entry from find
+     * @return the value
+     */
+    static int value(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * Reads how far ahead an entry was searched.
+     *
+     * @param entry
+     *            entry from find
+     * @return moves searched ahead
+     */
+    static int plies(long entry) {
+        return (int) (entry >>> 34) & 0xFF;
+    }
+
+    /**
+     * Reads the best move of an entry.
+     *
+     * @param entry
+     *            entry from find
+     * @return the cell
+     */
+    static int move(long entry) {
+        return (int) (entry >>> 42) & 0x7F;
+    }
+
+    /**
+     * Tells if an entry settles a search with the given window, as
+     * PositionTable.settles does.
+     *
+     * @param entry
+     *            entry from find
+     * @param alpha
+     *            X is already sure of at least this much elsewhere
+     * @param beta
+     *            O is already sure of at most this much elsewhere
+     * @return true if value(entry) can be returned without searching
+     */
+    static boolean settles(long entry, int alpha, int beta) {
+        int bound = (int) (entry >>> 32) & 3;
+        int value = value(entry);
+        return bound == PositionTable.EXACT || (bound == PositionTable.LOWER && value >= beta)
+                || (bound == PositionTable.UPPER && value <= alpha);
+    }
+}
@@ -0,0 +1,167 @@
+package simpleai.games.tictactoe;
+
+import java.util.Arrays;
+
+/**
+ * Order to try moves in for the m,n,k search, in place of lowest first.
+ * Each of its parts can be switched on alone: the move the table kept for
+ * the board, the two killer moves of the ply, which last cut off a sibling
+ * board, the history of moves that cut off anywhere, and a static prior
+ * that prefers cells in more windows, the centre and then the corners on
+ * 3x3. Moves are picked one at a time, so a cutoff saves the scoring of
+ * the rest. Killers and history belong to one search thread.
+ */
+class MoveOrdering {
+    final boolean tableMove;
+    final boolean killers;
+    final boolean history;
+    final boolean prior;
+
+    /**
+     * Two killers for each number of stones on the board, or -1.
+     */
+    private final int[][] killerMoves;
+
+    /**
+     * Cutoff scores of X's moves, then O's, by cell.
+     */
+    private final int[] historyScores;
+
+    /**
+     * Windows through each cell.
+     */
+    private final int[] priors;
+
+    /**
+     * Makes an ordering for a board.
+     *
+     * @param board
+     *            board the ordering is for
+     * @param tableMove
+     *            true to try the table's move first
+     * @param killers
+     *            true to try the ply's killers next
+     * @param history
+     *            true to order the rest by history
+     * @param prior
+     *            true to order the rest by the windows through each cell
+     */
+    MoveOrdering(MnkBoard board, boolean tableMove, boolean killers, boolean history, boolean prior) {
+        this.tableMove = tableMove;
+        this.killers = killers;
+        this.history = history;
+        this.prior = prior;
+        int cells = board.width * board.height;
+        killerMoves = new int[cells + 1][2];
+        for (int[] pair : killerMoves) {
+            Arrays.fill(pair, -1);
+        }
+        historyScores = new int[2 * cells];
+        priors = new int[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            priors[cell] = board.cellLines[cell].length;
+        }
+    }
+
+    /**
+     * Makes an ordering with the same parts and no killers or history yet,
+     * for another thread.
+     *
+     * @param other
+     *            ordering to copy
+     */
+    MoveOrdering(MoveOrdering other) {
+        tableMove = other.tableMove;
+        killers = other.killers;
+        history = other.history;
+        prior = other.prior;
+        killerMoves = new int[other.killerMoves.length][2];
+        for (int[] pair : killerMoves) {
+            Arrays.fill(pair, -1);
+        }
+        historyScores = new int[other.historyScores.length];
+        priors = other.priors;
+    }
+
+    /**
+     * Picks the next move to try.
+     *
+     * @param board
+     *            the board being searched
+     * @param cells
+     *            moves not yet tried, not empty
+     * @param stored
+     *            cell the table kept for the board, or -1
+     * @param forX
+     *            true if X is to move
+     * @return the cell from the mask that scores highest, the lowest of
+     *         equals
+     */
+    int next(MnkBoard board, long cells, int stored, boolean forX) {
+        int[] pair = killerMoves[board.moves];
+        int side = forX ? 0 : priors.length;
+        int best = -1;
+        int bestScore = -1;
+        for (long rest = cells; rest != 0; rest &= rest - 1) {
+            int cell = Long.numberOfTrailingZeros(rest);
+            int score = 0;
+            if (tableMove && cell == stored) {
+                score = 1 << 30;
+            } else if (killers && cell == pair[0]) {
+                score = 1 << 29;
+            } else if (killers && cell == pair[1]) {
+                score = 1 << 28;
+            } else {
+                if (history) {
+                    score = historyScores[side + cell] << 8;
+                }
+                if (prior) {
+                    score += priors[cell];
+                }
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                best = cell;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Records a move that cut the search off.
+     *
+     * @param board
+     *            the board it was played on
+     * @param cell
+     *            the move
+     * @param plies
+     *            moves the board was searched ahead
+     * @param forX
+     *            true if X played it
+     */
+    void cutoff(MnkBoard board, int cell, int plies, boolean forX) {
+        int[] pair = killerMoves[board.moves];
+        if (pair[0] != cell) {
+            pair[1] = pair[0];
+            pair[0] = cell;
+        }
+        int slot = (forX ? 0 : priors.length) + cell;
+        historyScores[slot] += plies * plies;
+        //keep the scores well below the killers once shifted
+        if (historyScores[slot] >= 1 << 19) {
+            for (int k = 0; k < historyScores.length; k++) {
+                historyScores[k] >>= 1;
+            }
+        }
+    }
+
+    /**
+     * Forgets the killers and history.
+     */
+    void clear() {
+        for (int[] pair : killerMoves) {
+            Arrays.fill(pair, -1);
+        }
+        Arrays.fill(historyScores, 0);
+    }
+}
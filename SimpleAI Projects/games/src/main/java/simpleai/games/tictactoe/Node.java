@@ -0,0 +1,21 @@
+package simpleai.games.tictactoe;
+
+/**
+ * Node class for each state of the tic tac toe board.
+ */
+public class Node {
+    public enum Turn {
+        x, o
+    }
+
+    //Parent Node
+    public Node parentNode = null;
+    //The state of this branch
+    public String[] state = new String[9];
+    //Utility value of this state
+    public int utility;
+    //Who's turn is it
+    public Turn move;
+    //Moves Left till full board
+    public int movesLeft;
+}
@@ -0,0 +1,233 @@
+package simpleai.games.tictactoe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import simpleai.core.SearchStats;
+
+/**
+ * Parallel searches of an m,n,k board. Root split hands the moves at the
+ * root out to a fork-join pool as separate tasks. Lazy SMP runs the whole
+ * search on every thread over one shared MnkTable, each helper walking the
+ * moves in a different order, and takes the answer from the thread that
+ * walks them in the usual order. Both pick the same move and value as the
+ * single threaded search, and add the child boards made on all their
+ * threads to the nodes of the board they were given.
+ */
+final class ParallelMnkSearch {
+
+    /**
+     * Default constructor--private to prevent instantiation.
+     */
+    private ParallelMnkSearch() {
+        // no code needed here
+    }
+
+    /**
+     * Pool the root split runs on, kept between searches.
+     */
+    private static ForkJoinPool pool;
+
+    /**
+     * Searches the moves at the root on a fork-join pool, one task per move,
+     * each on its own copy of the board. Tasks share the best value found so
+     * far and search against it less 1, so a move as good as the best still
+     * comes back with its exact value and ties go to the lowest cell as in
+     * the single threaded search.
+     *
+     * @param board
+     *            the board; X to move when an even number of stones are
+     *            down
+     * @param plies
+     *            moves to look ahead, at least 1
+     * @param threads
+     *            parallelism of the pool
+     * @param move
+     *            gets the cell of the best move
+     * @return the value of the best move
+     */
+    static int rootSplit(final MnkBoard board, final int plies, int threads, int[] move) {
+        final boolean forX = board.moves % 2 == 0;
+        final int[] cells = new int[Long.bitCount(board.empty())];
+        int count = 0;
+        for (long empty = board.empty(); empty != 0; empty &= empty - 1) {
+            cells[count++] = Long.numberOfTrailingZeros(empty);
+        }
+        final int[] values = new int[cells.length];
+        final long[] made = new long[cells.length];
+        final SearchStats[] counted = new SearchStats[cells.length];
+        final AtomicInteger best = new AtomicInteger(forX ? Integer.MIN_VALUE : Integer.MAX_VALUE);
+        if (board.stats != null) {
+            board.stats.expanded(0);
+        }
+        final List<RecursiveAction> tasks = new ArrayList<RecursiveAction>();
+        for (int index = 0; index < cells.length; index++) {
+            final int task = index;
+            tasks.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    MnkBoard own = new MnkBoard(board);
+                    own.nodes = 1;
+                    own.root = board.moves;
+                    own.stats = board.stats == null ? null : new SearchStats();
+                    counted[task] = own.stats;
+                    own.play(cells[task], forX);
+                    if (own.stats != null) {
+                        own.stats.generated();
+                    }
+                    int utility;
+                    if (own.winner != 0) {
+                        utility = forX ? AIHMiniMaxTicTacToe.WIN : -AIHMiniMaxTicTacToe.WIN;
+                    } else if (own.empty() == 0) {
+                        utility = 0;
+                    } else if (plies == 1) {
+                        utility = own.score;
+                    } else if (forX) {
+                        int alpha = best.get();
+                        utility = AIHMiniMaxTicTacToe.findMin(own, plies - 1,
+                                alpha == Integer.MIN_VALUE ? alpha : alpha - 1, Integer.MAX_VALUE, null);
+                    } else {
+                        int beta = best.get();
+                        utility = AIHMiniMaxTicTacToe.findMax(own, plies - 1, Integer.MIN_VALUE,
+                                beta == Integer.MAX_VALUE ? beta : beta + 1, null);
+                    }
+                    values[task] = utility;
+                    made[task] = own.nodes;
+                    int current = best.get();
+                    while ((forX ? utility > current : utility < current) && !best.compareAndSet(current, utility)) {
+                        current = best.get();
+                    }
+                }
+            });
+        }
+        pool(threads).invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+        for (long taskNodes : made) {
+            board.nodes += taskNodes;
+        }
+        merge(board, counted);
+        //the lowest cell with the best value, as the single threaded search picks
+        for (int index = 0; index < cells.length; index++) {
+            if (values[index] == best.get()) {
+                move[0] = cells[index];
+                break;
+            }
+        }
+        return best.get();
+    }
+
+    /**
+     * Finds the pool for the root split, making a new one when the
+     * parallelism asked for changes.
+     */
+    private static synchronized ForkJoinPool pool(int threads) {
+        if (pool == null || pool.getParallelism() != threads) {
+            if (pool != null) {
+                pool.shutdown();
+            }
+            pool = new ForkJoinPool(threads);
+        }
+        return pool;
+    }
+
+    /**
+     * Lazy SMP: searches the whole board on every thread over one shared
+     * table. The calling thread walks the moves lowest first; each helper
+     * starts its walk at a different cell, so the threads fill the table
+     * with different parts of the tree. Once the calling thread is done the
+     * helpers are stopped through a budget only they share, so other
+     * searches running at the same time go on.
+     *
+     * @param board
+     *            the board; X to move when an even number of stones are
+     *            down
+     * @param plies
+     *            moves to look ahead, at least 1
+     * @param threads
+     *            number of threads, the calling one included
+     * @param table
+     *            table the threads share
+     * @param move
+     *            gets the cell of the best move
+     * @return the value of the best move
+     */
+    static int lazySmp(MnkBoard board, final int plies, int threads, MnkTable table, int[] move) {
+        final boolean forX = board.moves % 2 == 0;
+        int cells = board.width * board.height;
+        MnkBoard[] boards = new MnkBoard[threads];
+        MnkBudget budget = new MnkBudget(Long.MAX_VALUE, Long.MAX_VALUE);
+        SearchStats[] counted = new SearchStats[threads];
+        Thread[] helpers = new Thread[threads - 1];
+        for (int t = 0; t < threads; t++) {
+            boards[t] = new MnkBoard(board);
+            boards[t].nodes = 0;
+            boards[t].budget = budget;
+            boards[t].stats = board.stats == null ? null : new SearchStats();
+            counted[t] = boards[t].stats;
+            boards[t].table = table;
+            boards[t].start = t * cells / threads;
+        }
+        for (int t = 1; t < threads; t++) {
+            final MnkBoard own = boards[t];
+            helpers[t - 1] = new Thread("lazy-smp-" + t) {
+                @Override
+                public void run() {
+                    search(own, plies, forX, new int[] { -1 });
+                }
+            };
+            helpers[t - 1].start();
+        }
+        move[0] = -1;
+        int utility = search(boards[0], plies, forX, move);
+        budget.stop();
+        join(helpers);
+        for (MnkBoard own : boards) {
+            board.nodes += own.nodes;
+        }
+        merge(board, counted);
+        return utility;
+    }
+
+    /**
+     * Adds what each thread counted to the board's stats, once the threads
+     * are done.
+     */
+    private static void merge(MnkBoard board, SearchStats[] counted) {
+        if (board.stats != null) {
+            for (SearchStats own : counted) {
+                board.stats.merge(own);
+            }
+        }
+    }
+
+    /**
+     * Runs findMax or findMin to the given number of moves.
+     */
+    private static int search(MnkBoard board, int plies, boolean forX, int[] move) {
+        if (forX) {
+            return AIHMiniMaxTicTacToe.findMax(board, plies, Integer.MIN_VALUE, Integer.MAX_VALUE, move);
+        }
+        return AIHMiniMaxTicTacToe.findMin(board, plies, Integer.MIN_VALUE, Integer.MAX_VALUE, move);
+    }
+
+    /**
+     * Waits for every thread to finish.
+     */
+    private static void join(Thread[] threads) {
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package simpleai.games.tictactoe;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Perfect play table of an m,n,k-game for every position with at most a
+ * given number of empty cells: the full game for tic-tac-toe, an endgame
+ * table for bigger boards. Positions are grouped by their number of empty
+ * cells and ranked within the group by which cells hold stones and which
+ * of those are X, so only boards with the right count of each are stored.
+ * Each takes one byte: the outcome with best play in the top two bits and
+ * the lowest cell that reaches it in the rest.
+ */
+public class Tablebase {
+    /**
+     * First int of a tablebase file, "TTB1".
+     */
+    public static final int MAGIC = 0x54544231;
+
+    /**
+     * Outcome of a board with more empty cells than the table holds.
+     */
+    public static final int UNKNOWN = 0;
+
+    /**
+     * X wins with best play.
+     */
+    public static final int X_WINS = 1;
+
+    /**
+     * Neither side can win.
+     */
+    public static final int DRAW = 2;
+
+    /**
+     * O wins with best play.
+     */
+    public static final int O_WINS = 3;
+
+    /**
+     * Move of a board that is already over.
+     */
+    public static final int NO_MOVE = 63;
+
+    private static final long[][] CHOOSE = new long[65][65];
+
+    static {
+        for (int n = 0; n <= 64; n++) {
+            CHOOSE[n][0] = 1;
+            for (int r = 1; r <= n; r++) {
+                CHOOSE[n][r] = CHOOSE[n - 1][r - 1] + CHOOSE[n - 1][r];
+            }
+        }
+    }
+
+    public final int width;
+    public final int height;
+    public final int k;
+    public final int maxEmpty;
+    private final long[] lines;
+    //offsets[e] is where the boards with e empty cells start
+    private final int[] offsets;
+    private final ByteBuffer table;
+
+    /**
+     * Wraps an existing table.
+     *
+     * @param width
+     *            number of columns
+     * @param height
+     *            number of rows
+     * @param k
+     *            stones in a row that win
+     * @param maxEmpty
+     *            most empty cells of a stored board
+     * @param table
+     *            one byte per board, or null to make an empty one
+     */
+    Tablebase(int width, int height, int k, int maxEmpty, ByteBuffer table) {
+        this.width = width;
+        this.height = height;
+        this.k = k;
+        this.maxEmpty = maxEmpty;
+        this.lines = lines(width, height, k);
+        int cells = width * height;
+        offsets = new int[maxEmpty + 2];
+        for (int e = 0; e <= maxEmpty; e++) {
+            int stones = cells - e;
+            long size = CHOOSE[cells][stones] * CHOOSE[stones][(stones + 1) / 2];
+            if (offsets[e] + size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Tablebase too big: " + maxEmpty + " empty cells");
+            }
+            offsets[e + 1] = (int) (offsets[e] + size);
+        }
+        this.table = table == null ? ByteBuffer.allocate(offsets[maxEmpty + 1]) : table;
+    }
+
+    /**
+     * Solves every board with at most maxEmpty empty cells, backwards from
+     * the full boards: each group's boards only lead to boards of the group
+     * before, which is already solved.
+     *
+     * @param width
+     *            number of columns
+     * @param height
+     *            number of rows
+     * @param k
+     *            stones in a row that win
+     * @param maxEmpty
+     *            most empty cells of a stored board
+     * @return the table
+     */
+    public static Tablebase build(int width, int height, int k, int maxEmpty) {
+        Tablebase book = new Tablebase(width, height, k, maxEmpty, null);
+        int cells = width * height;
+        for (int e = 0; e <= maxEmpty; e++) {
+            int stones = cells - e;
+            int xStones = (stones + 1) / 2;
+            long xRanks = CHOOSE[stones][xStones];
+            for (int rank = book.offsets[e]; rank < book.offsets[e + 1]; rank++) {
+                long taken = unrank((rank - book.offsets[e]) / xRanks, stones);
+                long x = spread(unrank((rank - book.offsets[e]) % xRanks, xStones), taken);
+                long o = taken & ~x;
+                book.table.put(rank, (byte) book.solve(x, o, xStones == stones - xStones));
+            }
+        }
+        return book;
+    }
+
+    /**
+     * Lists every run of k cells in a row, column or diagonal.
+     */
+    private static long[] lines(int width, int height, int k) {
+        long[] lines = new long[4 * width * height];
+        int count = 0;
+        int[][] steps = { { 0, 1 }, { 1, 0 }, { 1, 1 }, { 1, -1 } };
+        for (int row = 0; row < height; row++) {
+            for (int column = 0; column < width; column++) {
+                for (int[] step : steps) {
+                    int lastRow = row + step[0] * (k - 1);
+                    int lastColumn = column + step[1] * (k - 1);
+                    if (lastRow >= height || lastColumn < 0 || lastColumn >= width) {
+                        continue;
+                    }
+                    long line = 0;
+                    for (int n = 0; n < k; n++) {
+                        line |= 1L << ((row + step[0] * n) * width + column + step[1] * n);
+                    }
+                    lines[count++] = line;
+                }
+            }
+        }
+        return Arrays.copyOf(lines, count);
+    }
+
+    /**
+     * Works out one board from the boards one move on.
+     */
+    private int solve(long x, long o, boolean forX) {
+        int winner = winner(x, o);
+        if (winner != UNKNOWN) {
+            return winner << 6 | NO_MOVE;
+        }
+        long empty = ~(x | o) & (width * height == 64 ? -1L : (1L << (width * height)) - 1);
+        if (empty == 0) {
+            return DRAW << 6 | NO_MOVE;
+        }
+        int best = UNKNOWN;
+        int bestMove = NO_MOVE;
+        for (long open = empty; open != 0; open &= open - 1) {
+            long cell = open & -open;
+            int outcome = outcome(forX ? find(x | cell, o) : find(x, o | cell));
+            if (best == UNKNOWN || (forX ? outcome < best : outcome > best)) {
+                best = outcome;
+                bestMove = Long.numberOfTrailingZeros(cell);
+            }
+        }
+        return best << 6 | bestMove;
+    }
+
+    /**
+     * Finds who holds a full line.
+     *
+     * @return X_WINS, O_WINS, UNKNOWN if neither or, for boards no game
+     *         reaches, both
+     */
+    private int winner(long x, long o) {
+        int winner = UNKNOWN;
+        for (long line : lines) {
+            if ((x & line) == line) {
+                winner = winner == O_WINS ? -1 : X_WINS;
+            } else if ((o & line) == line) {
+                winner = winner == X_WINS ? -1 : O_WINS;
+            }
+        }
+        //neither side can be said to win a board with lines for both
+        return winner < 0 ? DRAW : winner;
+    }
+
+    /**
+     * Looks a board up.
+     *
+     * @param x
+     *            cells taken by X
+     * @param o
+     *            cells taken by O
+     * @return its entry, or -1 if it has more empty cells than the table
+     *         holds or the wrong count of X or O stones
+     */
+    public int find(long x, long o) {
+        int stones = Long.bitCount(x | o);
+        int e = width * height - stones;
+        int xStones = Long.bitCount(x);
+        if (e > maxEmpty || xStones != (stones + 1) / 2 || (x & o) != 0) {
+            return -1;
+        }
+        long taken = x | o;
+        long rank = rank(taken) * CHOOSE[stones][xStones] + rank(gather(x, taken));
+        return table.get(offsets[e] + (int) rank) & 0xFF;
+    }
+
+    /**
+     * Reads the outcome of an entry.
+     *
+     * @param entry
+     *            entry from find
+     * @return X_WINS, DRAW, O_WINS or UNKNOWN
+     */
+    public static int outcome(int entry) {
+        return entry < 0 ? UNKNOWN : entry >>> 6;
+    }
+
+    /**
+     * Reads the best move of an entry.
+     *
+     * @param entry
+     *            entry from find
+     * @return the lowest cell with the best outcome, or NO_MOVE
+     */
+    public static int move(int entry) {
+        return entry < 0 ? NO_MOVE : entry & 63;
+    }
+
+    /**
+     * Ranks a set of cells among the sets of the same size.
+     */
+    private static long rank(long cells) {
+        long rank = 0;
+        int index = 1;
+        for (long rest = cells; rest != 0; rest &= rest - 1) {
+            rank += CHOOSE[Long.numberOfTrailingZeros(rest)][index++];
+        }
+        return rank;
+    }
+
+    /**
+     * Turns a rank back into the set of cells of the given size.
+     */
+    private static long unrank(long rank, int count) {
+        long cells = 0;
+        for (int index = count; index > 0; index--) {
+            int cell = index - 1;
+            while (CHOOSE[cell + 1][index] <= rank) {
+                cell++;
+            }
+            rank -= CHOOSE[cell][index];
+            cells |= 1L << cell;
+        }
+        return cells;
+    }
+
+    /**
+     * Packs the bits of cells that lie in taken down to the low bits, in
+     * order.
+     */
+    private static long gather(long cells, long taken) {
+        long packed = 0;
+        int bit = 0;
+        for (long rest = taken; rest != 0; rest &= rest - 1) {
+            if ((cells & rest & -rest) != 0) {
+                packed |= 1L << bit;
+            }
+            bit++;
+        }
+        return packed;
+    }
+
+    /**
+     * Undoes gather: spreads the low bits out over the cells of taken.
+     */
+    private static long spread(long packed, long taken) {
+        long cells = 0;
+        int bit = 0;
+        for (long rest = taken; rest != 0; rest &= rest - 1) {
+            if ((packed & 1L << bit) != 0) {
+                cells |= rest & -rest;
+            }
+            bit++;
+        }
+        return cells;
+    }
+
+    /**
+     * Writes the table to a file: the magic number, width, height, k and
+     * maxEmpty, then one byte per board.
+     *
+     * @param file
+     *            where to write
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    public void write(File file) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeByte(width);
+            out.writeByte(height);
+            out.writeByte(k);
+            out.writeByte(maxEmpty);
+            ByteBuffer bytes = table.duplicate();
+            bytes.clear();
+            byte[] copy = new byte[bytes.capacity()];
+            bytes.get(copy);
+            out.write(copy);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Reads a table written by {@link #write}, either memory-mapped or
+     * copied onto the heap.
+     *
+     * @param file
+     *            the tablebase file
+     * @param width
+     *            number of columns expected
+     * @param height
+     *            number of rows expected
+     * @param k
+     *            stones in a row expected
+     * @param maxEmpty
+     *            empty cells expected
+     * @param mapped
+     *            true to map the file, false to read it in
+     * @return the table, or null if the file was made for another game
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public static Tablebase read(File file, int width, int height, int k, int maxEmpty, boolean mapped)
+            throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            ByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.get() != width
+                    || buffer.get() != height || buffer.get() != k || buffer.get() != maxEmpty) {
+                return null;
+            }
+            Tablebase book = new Tablebase(width, height, k, maxEmpty, null);
+            if (buffer.remaining() != book.table.capacity()) {
+                return null;
+            }
+            if (mapped) {
+                return new Tablebase(width, height, k, maxEmpty, buffer.slice());
+            }
+            buffer.get(book.table.array());
+            return book;
+        } finally {
+            //the mapping stays valid after the file is closed
+            raf.close();
+        }
+    }
+
+    /**
+     * Reads the table from a file, solving and writing it first if the file
+     * is missing or was made for another game.
+     *
+     * @param file
+     *            the tablebase file
+     * @param width
+     *            number of columns
+     * @param height
+     *            number of rows
+     * @param k
+     *            stones in a row that win
+     * @param maxEmpty
+     *            most empty cells of a stored board
+     * @param mapped
+     *            true to map the file, false to read it in
+     * @return the table
+     * @throws IOException
+     *             if the file cannot be read or written
+     */
+    public static Tablebase loadOrBuild(File file, int width, int height, int k, int maxEmpty, boolean mapped)
+            throws IOException {
+        if (file.exists()) {
+            Tablebase book = read(file, width, height, k, maxEmpty, mapped);
+            if (book != null) {
+                return book;
+            }
+        }
+        build(width, height, k, maxEmpty).write(file);
+        return read(file, width, height, k, maxEmpty, mapped);
+    }
+}
@@ -0,0 +1,191 @@
+package simpleai.games.tictactoe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import simpleai.core.PositionTable;
+import simpleai.core.SearchStats;
+
+/**
+ * Checks the bitboard alpha-beta search, with and without its table, against
+ * plain minimax on every board a game of tic-tac-toe can reach.
+ */
+public class AIMiniMaxTicTacToeTest {
+    private PositionTable savedTable;
+    private Tablebase savedBook;
+    private final HashMap<Integer, Integer> values = new HashMap<Integer, Integer>();
+
+    @Before
+    public void saveStatics() {
+        savedTable = AIMiniMaxTicTacToe.table;
+        savedBook = AIMiniMaxTicTacToe.book;
+        AIMiniMaxTicTacToe.book = null;
+    }
+
+    @After
+    public void restoreStatics() {
+        AIMiniMaxTicTacToe.table = savedTable;
+        AIMiniMaxTicTacToe.book = savedBook;
+    }
+
+    @Test
+    public void alphaBetaMatchesMinimax() {
+        AIMiniMaxTicTacToe.table = null;
+        checkEveryBoard();
+    }
+
+    @Test
+    public void tableMatchesMinimax() {
+        //one table across every board, so hits come from other searches too
+        AIMiniMaxTicTacToe.table = new PositionTable(12);
+        checkEveryBoard();
+        assertTrue(AIMiniMaxTicTacToe.table.hits > 0);
+    }
+
+    @Test
+    public void countsWhatItSearches() {
+        AIMiniMaxTicTacToe.table = null;
+        SearchStats stats = new SearchStats();
+        stats.start();
+        int[][] line = new int[10][10];
+        AIMiniMaxTicTacToe.findMax(0, 0, 0, line, new int[9], Integer.MIN_VALUE, Integer.MAX_VALUE, stats);
+        stats.stop();
+        assertEquals(0, stats.getDuplicates());
+        assertTrue(stats.getGenerated() >= stats.getExpanded());
+        assertEquals(8, stats.getMaxDepth());
+        AIMiniMaxTicTacToe.table = new PositionTable(12);
+        SearchStats cached = new SearchStats();
+        cached.start();
+        AIMiniMaxTicTacToe.findMax(0, 0, 0, line, new int[9], Integer.MIN_VALUE, Integer.MAX_VALUE, cached);
+        cached.stop();
+        assertTrue(cached.getDuplicates() > 0);
+        assertTrue(cached.getGenerated() < stats.getGenerated());
+    }
+
+    /**
+     * Searches every reachable board that is not over, with the full window
+     * and the per-move values, then with no values, and checks the value,
+     * each move's value, the move and the line against plain minimax.
+     */
+    private void checkEveryBoard() {
+        List<int[]> boards = reachable();
+        assertEquals(5478, boards.size());
+        int searched = 0;
+        for (int[] board : boards) {
+            int x = board[0];
+            int o = board[1];
+            if (AIMiniMaxTicTacToe.checkWin(x, o) != 1) {
+                continue;
+            }
+            boolean forX = Integer.bitCount(x) == Integer.bitCount(o);
+            int expected = minimax(x, o);
+            int[][] line = new int[10][10];
+            int[] minimax = new int[9];
+            int utility = search(x, o, forX, line, minimax);
+            assertEquals(expected, utility);
+            int bestCell = -1;
+            for (int cell = 0; cell < 9; cell++) {
+                int bit = 1 << cell;
+                if (((x | o) & bit) != 0) {
+                    continue;
+                }
+                int child = forX ? minimax(x | bit, o) : minimax(x, o | bit);
+                assertEquals(child, minimax[cell]);
+                if (bestCell < 0 && child == expected) {
+                    bestCell = cell;
+                }
+            }
+            //ties go to the lowest cell
+            assertEquals(bestCell, line[0][1]);
+            assertEquals(expected, playOut(x, o, AIMiniMaxTicTacToe.principalLine(x, o, line, null)));
+            assertEquals(expected, search(x, o, forX, new int[10][10], null));
+            searched++;
+        }
+        assertEquals(4520, searched);
+    }
+
+    private static int search(int x, int o, boolean forX, int[][] line, int[] minimax) {
+        if (forX) {
+            return AIMiniMaxTicTacToe.findMax(x, o, 0, line, minimax, Integer.MIN_VALUE, Integer.MAX_VALUE, null);
+        }
+        return AIMiniMaxTicTacToe.findMin(x, o, 0, line, minimax, Integer.MIN_VALUE, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Plays a line out on empty cells and scores where it ends.
+     */
+    private static int playOut(int x, int o, int[] cells) {
+        for (int cell : cells) {
+            assertEquals(1, AIMiniMaxTicTacToe.checkWin(x, o));
+            assertEquals(0, ((x | o) >> cell) & 1);
+            if (Integer.bitCount(x) == Integer.bitCount(o)) {
+                x |= 1 << cell;
+            } else {
+                o |= 1 << cell;
+            }
+        }
+        int utility = AIMiniMaxTicTacToe.checkWin(x, o);
+        assertTrue(utility != 1);
+        return utility;
+    }
+
+    /**
+     * Plain minimax, remembered by board.
+     */
+    private int minimax(int x, int o) {
+        int utility = AIMiniMaxTicTacToe.checkWin(x, o);
+        if (utility != 1) {
+            return utility;
+        }
+        Integer known = values.get(x << 9 | o);
+        if (known != null) {
+            return known;
+        }
+        boolean forX = Integer.bitCount(x) == Integer.bitCount(o);
+        int best = forX ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (int cell = 0; cell < 9; cell++) {
+            int bit = 1 << cell;
+            if (((x | o) & bit) == 0) {
+                int child = forX ? minimax(x | bit, o) : minimax(x, o | bit);
+                best = forX ? Math.max(best, child) : Math.min(best, child);
+            }
+        }
+        values.put(x << 9 | o, best);
+        return best;
+    }
+
+    /**
+     * Every board a game reaches, X first, stopping at a win or a full
+     * board.
+     */
+    static List<int[]> reachable() {
+        List<int[]> boards = new ArrayList<int[]>();
+        collect(0, 0, new HashMap<Integer, Boolean>(), boards);
+        return boards;
+    }
+
+    private static void collect(int x, int o, HashMap<Integer, Boolean> seen, List<int[]> boards) {
+        if (seen.put(x << 9 | o, Boolean.TRUE) != null) {
+            return;
+        }
+        boards.add(new int[] { x, o });
+        if (AIMiniMaxTicTacToe.checkWin(x, o) != 1) {
+            return;
+        }
+        boolean forX = Integer.bitCount(x) == Integer.bitCount(o);
+        for (int cell = 0; cell < 9; cell++) {
+            int bit = 1 << cell;
+            if (((x | o) & bit) == 0) {
+                collect(forX ? x | bit : x, forX ? o : o | bit, seen, boards);
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package simpleai.games.tictactoe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks the incremental score, winner and hash of an m,n,k board against a
+ * full recount after every move and take-back of random games.
+ */
+public class MnkBoardTest {
+    private static final int[][] GAMES = { { 3, 3, 3 }, { 4, 4, 4 }, { 5, 4, 4 }, { 4, 3, 3 }, { 7, 7, 5 },
+            { 8, 8, 5 } };
+
+    @Test
+    public void linesAreEveryWindow() {
+        //rows, columns and both diagonals of a 3x3 board
+        assertEquals(8, new MnkBoard(3, 3, 3).lines.length);
+        //3 columns and 4 rows: 2 windows a row, 3 a column, 3 x 2 a diagonal
+        assertEquals(4 * 2 + 3 * 3 + 2 * 3 * 2, new MnkBoard(3, 4, 2).lines.length);
+        assertEquals(8 * 4 + 8 * 4 + 2 * 4 * 4, new MnkBoard(8, 8, 5).lines.length);
+        MnkBoard board = new MnkBoard(7, 7, 5);
+        for (int cell = 0; cell < 49; cell++) {
+            int through = 0;
+            for (long line : board.lines) {
+                assertEquals(5, Long.bitCount(line));
+                if ((line & 1L << cell) != 0) {
+                    through++;
+                }
+            }
+            assertEquals(through, board.cellLines[cell].length);
+        }
+    }
+
+    @Test
+    public void incrementalCountsMatchRecount() {
+        Random random = new Random(7);
+        for (int[] game : GAMES) {
+            for (int run = 0; run < 40; run++) {
+                MnkBoard board = new MnkBoard(game[0], game[1], game[2]);
+                List<Integer> played = new ArrayList<Integer>();
+                List<int[]> before = new ArrayList<int[]>();
+                while (board.winner == 0 && board.empty() != 0) {
+                    int cell = randomCell(board, random);
+                    before.add(new int[] { board.score, (int) board.hash, (int) (board.hash >>> 32) });
+                    board.play(cell, board.moves % 2 == 0);
+                    played.add(cell);
+                    assertRecounted(board);
+                }
+                //take every move back, checking each board on the way
+                for (int k = played.size() - 1; k >= 0; k--) {
+                    board.undo(played.get(k), k % 2 == 0);
+                    assertRecounted(board);
+                    assertEquals(0, board.winner);
+                    assertEquals(before.get(k)[0], board.score);
+                    assertEquals(before.get(k)[1], (int) board.hash);
+                    assertEquals(before.get(k)[2], (int) (board.hash >>> 32));
+                }
+                assertEquals(0, board.x | board.o);
+                assertEquals(0, board.score);
+                assertEquals(0, board.hash);
+            }
+        }
+    }
+
+    @Test
+    public void hashDependsOnlyOnThePosition() {
+        Random random = new Random(8);
+        for (int[] game : GAMES) {
+            MnkBoard board = new MnkBoard(game[0], game[1], game[2]);
+            List<Integer> xCells = new ArrayList<Integer>();
+            List<Integer> oCells = new ArrayList<Integer>();
+            for (int k = 0; k < board.width * board.height / 2; k++) {
+                int cell = randomCell(board, random);
+                board.play(cell, k % 2 == 0);
+                (k % 2 == 0 ? xCells : oCells).add(cell);
+            }
+            Collections.shuffle(xCells, random);
+            Collections.shuffle(oCells, random);
+            MnkBoard other = new MnkBoard(game[0], game[1], game[2]);
+            for (int k = 0; k < xCells.size() + oCells.size(); k++) {
+                other.play(k % 2 == 0 ? xCells.get(k / 2) : oCells.get(k / 2), k % 2 == 0);
+            }
+            assertEquals(board.x, other.x);
+            assertEquals(board.o, other.o);
+            assertEquals(board.hash, other.hash);
+            assertEquals(board.score, other.score);
+        }
+    }
+
+    @Test
+    public void copyIsIndependent() {
+        MnkBoard board = new MnkBoard(4, 4, 4);
+        board.play(5, true);
+        board.play(0, false);
+        MnkBoard copy = new MnkBoard(board);
+        assertEquals(board.hash, copy.hash);
+        assertEquals(board.score, copy.score);
+        copy.play(6, true);
+        copy.play(1, false);
+        copy.play(7, true);
+        copy.play(2, false);
+        copy.play(4, true);
+        assertEquals(1, copy.winner);
+        assertRecounted(copy);
+        assertEquals(0, board.winner);
+        assertEquals(2, board.moves);
+        assertRecounted(board);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void boardOverSixtyFourCellsIsRefused() {
+        new MnkBoard(9, 8, 5);
+    }
+
+    /**
+     * Picks an empty cell at random.
+     *
+     * @param board
+     *            a board that is not full
+     * @param random
+     *            source of the pick
+     * @return the cell
+     */
+    static int randomCell(MnkBoard board, Random random) {
+        long empty = board.empty();
+        for (int skip = random.nextInt(Long.bitCount(empty)); skip > 0; skip--) {
+            empty &= empty - 1;
+        }
+        return Long.numberOfTrailingZeros(empty);
+    }
+
+    /**
+     * Scores a board from scratch: 3 to the c - 1 for a window holding c
+     * stones of one side and none of the other, for X and against O.
+     *
+     * @param lines
+     *            every window of the board
+     * @param x
+     *            cells taken by X
+     * @param o
+     *            cells taken by O
+     * @return X's score
+     */
+    static int recountScore(long[] lines, long x, long o) {
+        int score = 0;
+        for (long line : lines) {
+            int xs = Long.bitCount(x & line);
+            int os = Long.bitCount(o & line);
+            if (os == 0 && xs > 0) {
+                score += pow3(xs - 1);
+            } else if (xs == 0 && os > 0) {
+                score -= pow3(os - 1);
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Finds who holds a whole window.
+     *
+     * @param lines
+     *            every window of the board
+     * @param x
+     *            cells taken by X
+     * @param o
+     *            cells taken by O
+     * @return 1 for X, -1 for O, 0 for neither
+     */
+    static int recountWinner(long[] lines, long x, long o) {
+        for (long line : lines) {
+            if ((x & line) == line) {
+                return 1;
+            }
+            if ((o & line) == line) {
+                return -1;
+            }
+        }
+        return 0;
+    }
+
+    private static void assertRecounted(MnkBoard board) {
+        assertEquals(recountScore(board.lines, board.x, board.o), board.score);
+        assertEquals(recountWinner(board.lines, board.x, board.o), board.winner);
+        assertEquals(Long.bitCount(board.x | board.o), board.moves);
+        assertTrue((board.x & board.o) == 0);
+    }
+
+    private static int pow3(int power) {
+        int value = 1;
+        for (int k = 0; k < power; k++) {
+            value *= 3;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,207 @@
+package simpleai.games.tictactoe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks the m,n,k alpha-beta search, with its table, every mix of move
+ * ordering and both parallel searches, against plain depth limited minimax
+ * that scores every board from scratch.
+ */
+public class MnkSearchTest {
+
+    @Test
+    public void alphaBetaMatchesMinimax() {
+        for (MnkBoard board : positions()) {
+            int plies = plies(board);
+            int[] expected = minimax(board, plies);
+            int[] move = { -1 };
+            assertEquals(expected[0], search(board, plies, move));
+            //ties go to the lowest cell
+            assertEquals(expected[1], move[0]);
+        }
+    }
+
+    @Test
+    public void tableMatchesMinimax() {
+        for (MnkBoard board : positions()) {
+            //deepen over one table, as iterative deepening does
+            board.table = new MnkTable(16);
+            for (int plies = 1; plies <= plies(board); plies++) {
+                int[] expected = minimax(board, plies);
+                int[] move = { -1 };
+                assertEquals(expected[0], search(board, plies, move));
+                assertEquals(expected[1], move[0]);
+            }
+        }
+    }
+
+    @Test
+    public void everyOrderingMatchesMinimax() {
+        for (MnkBoard board : positions()) {
+            int plies = plies(board);
+            int[] expected = minimax(board, plies);
+            for (int parts = 0; parts < 16; parts++) {
+                boolean tableMove = (parts & 1) != 0;
+                board.table = tableMove ? new MnkTable(16) : null;
+                board.ordering = new MoveOrdering(board, tableMove, (parts & 2) != 0, (parts & 4) != 0,
+                        (parts & 8) != 0);
+                //a second search starts from the killers and history of the first
+                for (int pass = 0; pass < 2; pass++) {
+                    int[] move = { -1 };
+                    assertEquals("ordering " + parts, expected[0], search(board, plies, move));
+                    assertEquals(expected[0], childValue(board, move[0], plies));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void rootSplitMatchesMinimax() {
+        for (MnkBoard board : positions()) {
+            int plies = plies(board);
+            int[] expected = minimax(board, plies);
+            for (int threads = 1; threads <= 3; threads++) {
+                int[] move = { -1 };
+                assertEquals(expected[0], ParallelMnkSearch.rootSplit(board, plies, threads, move));
+                assertEquals(expected[1], move[0]);
+            }
+        }
+    }
+
+    @Test
+    public void lazySmpMatchesMinimax() {
+        for (MnkBoard board : positions()) {
+            int plies = plies(board);
+            int[] expected = minimax(board, plies);
+            for (int threads = 1; threads <= 3; threads++) {
+                int[] move = { -1 };
+                assertEquals(expected[0], ParallelMnkSearch.lazySmp(board, plies, threads, new MnkTable(16), move));
+                assertEquals(expected[0], childValue(board, move[0], plies));
+            }
+        }
+    }
+
+    /**
+     * Boards that are not over, from the empty 3x3 board to a few stones on
+     * bigger ones.
+     */
+    private static List<MnkBoard> positions() {
+        Random random = new Random(9);
+        int[][] games = { { 3, 3, 3 }, { 3, 3, 3 }, { 3, 3, 3 }, { 4, 4, 4 }, { 4, 4, 4 }, { 4, 4, 4 },
+                { 5, 4, 4 }, { 4, 3, 3 }, { 7, 7, 5 } };
+        List<MnkBoard> boards = new ArrayList<MnkBoard>();
+        for (int g = 0; g < games.length; g++) {
+            MnkBoard board;
+            do {
+                board = new MnkBoard(games[g][0], games[g][1], games[g][2]);
+                //the first board of each size is empty
+                boolean first = g == 0 || games[g][0] != games[g - 1][0] || games[g][1] != games[g - 1][1];
+                int stones = first ? 0 : 1 + random.nextInt(5);
+                for (int k = 0; k < stones && board.winner == 0; k++) {
+                    board.play(MnkBoardTest.randomCell(board, random), board.moves % 2 == 0);
+                }
+            } while (board.winner != 0 || Long.bitCount(board.empty()) < 2);
+            boards.add(board);
+        }
+        return boards;
+    }
+
+    /**
+     * Looks ahead to the end of a 3x3 game and a few moves on bigger boards.
+     */
+    private static int plies(MnkBoard board) {
+        int cells = board.width * board.height;
+        return Math.min(Long.bitCount(board.empty()), cells <= 9 ? 9 : cells <= 16 ? 5 : cells <= 20 ? 4 : 2);
+    }
+
+    /**
+     * Runs the search for the side to move and checks it left the board as
+     * it found it.
+     */
+    private static int search(MnkBoard board, int plies, int[] move) {
+        long x = board.x;
+        long o = board.o;
+        long hash = board.hash;
+        int score = board.score;
+        int utility;
+        if (board.moves % 2 == 0) {
+            utility = AIHMiniMaxTicTacToe.findMax(board, plies, Integer.MIN_VALUE, Integer.MAX_VALUE, move);
+        } else {
+            utility = AIHMiniMaxTicTacToe.findMin(board, plies, Integer.MIN_VALUE, Integer.MAX_VALUE, move);
+        }
+        assertEquals(x, board.x);
+        assertEquals(o, board.o);
+        assertEquals(hash, board.hash);
+        assertEquals(score, board.score);
+        assertEquals(0, board.winner);
+        return utility;
+    }
+
+    /**
+     * Finds what a move is worth by plain minimax, to check a move that
+     * another order may have picked among equals.
+     */
+    private static int childValue(MnkBoard board, int cell, int plies) {
+        assertTrue(cell >= 0 && (board.empty() & 1L << cell) != 0);
+        boolean forX = board.moves % 2 == 0;
+        long x = forX ? board.x | 1L << cell : board.x;
+        long o = forX ? board.o : board.o | 1L << cell;
+        return value(board, x, o, plies - 1, !forX);
+    }
+
+    /**
+     * Plain minimax to a depth.
+     *
+     * @return the value and the lowest cell that reaches it
+     */
+    private static int[] minimax(MnkBoard board, int plies) {
+        boolean forX = board.moves % 2 == 0;
+        int best = forX ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        int bestCell = -1;
+        for (long empty = board.empty(); empty != 0; empty &= empty - 1) {
+            long cell = empty & -empty;
+            long x = forX ? board.x | cell : board.x;
+            long o = forX ? board.o : board.o | cell;
+            int utility = value(board, x, o, plies - 1, !forX);
+            if (forX ? utility > best : utility < best) {
+                best = utility;
+                bestCell = Long.numberOfTrailingZeros(cell);
+            }
+        }
+        return new int[] { best, bestCell };
+    }
+
+    /**
+     * Values a board just moved to: a win, a full board, the score once the
+     * plies run out, or else the best of its children.
+     */
+    private static int value(MnkBoard board, long x, long o, int plies, boolean forX) {
+        int winner = MnkBoardTest.recountWinner(board.lines, x, o);
+        if (winner != 0) {
+            return winner * AIHMiniMaxTicTacToe.WIN;
+        }
+        int cells = board.width * board.height;
+        long full = cells == 64 ? -1L : (1L << cells) - 1;
+        if ((x | o) == full) {
+            return 0;
+        }
+        if (plies == 0) {
+            return MnkBoardTest.recountScore(board.lines, x, o);
+        }
+        int best = forX ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (long empty = full & ~(x | o); empty != 0; empty &= empty - 1) {
+            long cell = empty & -empty;
+            int utility = forX ? value(board, x | cell, o, plies - 1, false)
+                    : value(board, x, o | cell, plies - 1, true);
+            best = forX ? Math.max(best, utility) : Math.min(best, utility);
+        }
+        return best;
+    }
+}
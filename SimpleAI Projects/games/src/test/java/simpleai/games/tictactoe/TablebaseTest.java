@@ -0,0 +1,139 @@
+package simpleai.games.tictactoe;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import simpleai.core.PositionTable;
+
+/**
+ * Checks the solved boards against the searches, and that a table comes back
+ * the same from its file.
+ */
+public class TablebaseTest {
+    private static Tablebase book;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private PositionTable savedTable;
+
+    @BeforeClass
+    public static void solveTicTacToe() {
+        book = Tablebase.build(3, 3, 3, 9);
+    }
+
+    @Before
+    public void searchWithoutTable() {
+        savedTable = AIMiniMaxTicTacToe.table;
+        AIMiniMaxTicTacToe.table = null;
+    }
+
+    @After
+    public void restoreTable() {
+        AIMiniMaxTicTacToe.table = savedTable;
+    }
+
+    @Test
+    public void agreesWithSearchOnEveryBoard() {
+        for (int[] board : AIMiniMaxTicTacToeTest.reachable()) {
+            int x = board[0];
+            int o = board[1];
+            int entry = book.find(x, o);
+            int state = AIMiniMaxTicTacToe.checkWin(x, o);
+            if (state != 1) {
+                assertEquals(state, AIMiniMaxTicTacToe.bookUtility(entry));
+                assertEquals(Tablebase.NO_MOVE, Tablebase.move(entry));
+                continue;
+            }
+            int[][] line = new int[10][10];
+            int[] minimax = new int[9];
+            int utility;
+            if (Integer.bitCount(x) == Integer.bitCount(o)) {
+                utility = AIMiniMaxTicTacToe.findMax(x, o, 0, line, minimax, Integer.MIN_VALUE, Integer.MAX_VALUE,
+                        null);
+            } else {
+                utility = AIMiniMaxTicTacToe.findMin(x, o, 0, line, minimax, Integer.MIN_VALUE, Integer.MAX_VALUE,
+                        null);
+            }
+            assertEquals(utility, AIMiniMaxTicTacToe.bookUtility(entry));
+            //both take the lowest cell among the best
+            assertEquals(line[0][1], Tablebase.move(entry));
+        }
+    }
+
+    @Test
+    public void partialTableAgreesWithMnkSearch() {
+        int maxEmpty = 7;
+        Tablebase partial = Tablebase.build(4, 3, 3, maxEmpty);
+        Random random = new Random(6);
+        int checked = 0;
+        while (checked < 60) {
+            MnkBoard board = new MnkBoard(4, 3, 3);
+            while (board.winner == 0 && Long.bitCount(board.empty()) > maxEmpty) {
+                board.play(MnkBoardTest.randomCell(board, random), board.moves % 2 == 0);
+            }
+            if (board.winner != 0) {
+                continue;
+            }
+            //one stone fewer is one empty cell more than the table holds
+            assertEquals(-1, partial.find(board.x & (board.x - 1), board.o));
+            int entry = partial.find(board.x, board.o);
+            int plies = Long.bitCount(board.empty());
+            int[] move = { -1 };
+            int utility;
+            if (board.moves % 2 == 0) {
+                utility = AIHMiniMaxTicTacToe.findMax(board, plies, Integer.MIN_VALUE, Integer.MAX_VALUE, move);
+            } else {
+                utility = AIHMiniMaxTicTacToe.findMin(board, plies, Integer.MIN_VALUE, Integer.MAX_VALUE, move);
+            }
+            int outcome = utility == AIHMiniMaxTicTacToe.WIN ? Tablebase.X_WINS
+                    : utility == -AIHMiniMaxTicTacToe.WIN ? Tablebase.O_WINS : Tablebase.DRAW;
+            assertEquals(outcome, Tablebase.outcome(entry));
+            assertEquals(move[0], Tablebase.move(entry));
+            checked++;
+        }
+    }
+
+    @Test
+    public void fileRoundTrip() throws IOException {
+        File file = new File(folder.getRoot(), "ttt-3x3.bin");
+        book.write(file);
+        Tablebase mapped = Tablebase.read(file, 3, 3, 3, 9, true);
+        Tablebase copied = Tablebase.read(file, 3, 3, 3, 9, false);
+        assertNotNull(mapped);
+        assertNotNull(copied);
+        List<int[]> boards = AIMiniMaxTicTacToeTest.reachable();
+        for (int[] board : boards) {
+            assertEquals(book.find(board[0], board[1]), mapped.find(board[0], board[1]));
+            assertEquals(book.find(board[0], board[1]), copied.find(board[0], board[1]));
+        }
+        assertEquals(book.find(0, 0), Tablebase.loadOrBuild(file, 3, 3, 3, 9, true).find(0, 0));
+    }
+
+    @Test
+    public void fileForAnotherGameIsNotRead() throws IOException {
+        File file = new File(folder.getRoot(), "ttt-3x3.bin");
+        book.write(file);
+        assertNull(Tablebase.read(file, 3, 3, 2, 9, true));
+        assertNull(Tablebase.read(file, 3, 3, 3, 8, false));
+        assertNull(Tablebase.read(file, 4, 3, 3, 9, true));
+        //loading for another game rebuilds the file
+        Tablebase smaller = Tablebase.loadOrBuild(file, 3, 3, 3, 4, false);
+        assertEquals(4, smaller.maxEmpty);
+        assertNull(Tablebase.read(file, 3, 3, 3, 9, true));
+        assertNotNull(Tablebase.read(file, 3, 3, 3, 4, true));
+    }
+}
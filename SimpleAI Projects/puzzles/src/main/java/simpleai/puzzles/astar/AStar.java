@@ -0,0 +1,784 @@
+package simpleai.puzzles.astar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Stack;
+
+import simpleai.core.BoardKey;
+import simpleai.core.SearchStats;
+import simpleai.core.SlidingPuzzle;
+
+/**
+ * A star Search method
+ */
+public final class AStar extends Node {
+
+    /**
+     * Default constructor--private to prevent instantiation.
+     */
+    private AStar() {
+        // no code needed here
+    }
+
+    /**
+     * Finds Child Node produced by given action.
+     *
+     * @param parent
+     *            Node to branch from
+     * @param move
+     *            the direction to move in
+     * @param width
+     *            number of columns on the board
+     * @return the child node
+     */
+    public static Node childNode(Node parent, Actions move, int width) {
+        Node child = new Node();
+        int blankIndex = parent.blank;
+        int nextIndex = -1;
+        child.depth = parent.depth + 1;
+        child.parentNode = parent;
+        child.action = move;
+        child.state = new int[parent.state.length];
+        System.arraycopy(parent.state, 0, child.state, 0, parent.state.length);
+        if (blankIndex < 0) {
+            blankIndex = SlidingPuzzle.blankIndex(parent.state);
+            parent.blank = blankIndex;
+        }
+        //check that move is legal and not repetitive
+        if (parent.action != opposite(move)) {
+            nextIndex = SlidingPuzzle.moveIndex(blankIndex, move.ordinal(), width, parent.state.length);
+        }
+        if (nextIndex >= 0) {
+            child.state[blankIndex] = child.state[nextIndex];
+            child.state[nextIndex] = 0;
+            child.blank = nextIndex;
+        } else {
+            child = null;
+        }
+
+        return child;
+    }
+
+    /**
+     * Finds the move that undoes the given one.
+     *
+     * @param move
+     *            a move, or null
+     * @return the reverse move, or null
+     */
+    public static Actions opposite(Actions move) {
+        if (move == null) {
+            return null;
+        }
+        switch (move) {
+            case up:
+                return Actions.down;
+            case down:
+                return Actions.up;
+            case left:
+                return Actions.right;
+            default:
+                return Actions.left;
+        }
+    }
+
+    /**
+     * Method to Write the State of a node in the given format.
+     *
+     * @param node2Write
+     *            Node to print
+     * @param width
+     *            number of columns on the board
+     */
+    public static void writeState(Node node2Write, int width) {
+        System.out.print("Step " + node2Write.pathCost + " : ");
+        if (node2Write.action == null) {
+            System.out.println("None");
+        } else {
+            System.out.println(node2Write.action);
+        }
+        for (int k = 0; k < node2Write.state.length; k++) {
+            if (k % width == 0 && k != 0) {
+                System.out.println();
+            }
+            System.out.print(node2Write.state[k] + " ");
+        }
+        System.out.println();
+    }
+
+    /**
+     * A* Search of the puzzle.
+     *
+     * @param selected
+     *            Stack of the solution, left empty if the state is unsolvable
+     * @param initialState
+     *            Node to branch from
+     * @param goalState
+     *            the endpoint
+     * @param goalPositions
+     *            index of every tile in the goal, from {@link #goalPositions}
+     * @param patterns
+     *            pattern database heuristic, or null for Manhattan distance
+     * @param width
+     *            number of columns on the board
+     * @param allNodes
+     *            the frontier of Nodes
+     * @param seenNodes
+     *            best Node found so far for every reached state, keyed by
+     *            {@link BoardKey#pack(int[])}
+     * @param stats
+     *            counts what the search does, or null to not count it
+     */
+    public static void aStarSearch(Stack<Node> selected, Node initialState, int[] goalState, int[] goalPositions,
+            PatternHeuristic patterns, int width, OpenList allNodes, HashMap<BoardKey, Node> seenNodes,
+            SearchStats stats) {
+        if (!SlidingPuzzle.isSolvable(initialState.state, goalState, width)) {
+            return;
+        }
+        if (stats != null) {
+            stats.start();
+        }
+        Node bestNode = initialState;
+        while (!Arrays.equals(bestNode.state, goalState)) {
+            if (stats != null) {
+                stats.expanded(bestNode.pathCost - initialState.pathCost);
+            }
+            seenNodes.putIfAbsent(BoardKey.pack(bestNode.state), bestNode);
+            queueChild(childNode(bestNode, Actions.up, width), bestNode, goalPositions, patterns, width, allNodes,
+                    seenNodes, stats);
+            queueChild(childNode(bestNode, Actions.down, width), bestNode, goalPositions, patterns, width, allNodes,
+                    seenNodes, stats);
+            queueChild(childNode(bestNode, Actions.left, width), bestNode, goalPositions, patterns, width, allNodes,
+                    seenNodes, stats);
+            queueChild(childNode(bestNode, Actions.right, width), bestNode, goalPositions, patterns, width,
+                    allNodes, seenNodes, stats);
+            if (stats != null) {
+                stats.frontier(allNodes.size());
+            }
+            bestNode = getSmallest(allNodes);
+            //frontier used up without reaching the goal
+            if (bestNode == null) {
+                if (stats != null) {
+                    stats.stop();
+                }
+                return;
+            }
+            allNodes.remove(bestNode);
+        }
+        if (stats != null) {
+            stats.solved(bestNode.pathCost - initialState.pathCost);
+            stats.stop();
+        }
+        //Make stack of the found solution
+        makeStack(selected, bestNode);
+    }
+
+    /**
+     * Puts a child on the frontier unless its state was already reached at
+     * the same or a lower path cost. A cheaper path to a queued state
+     * re-keys that Node; a cheaper path to an expanded state reopens it.
+     *
+     * @param child
+     *            the new Node, or null for an illegal move
+     * @param parent
+     *            Node the child was produced from
+     * @param goalPositions
+     *            index of every tile in the goal
+     * @param patterns
+     *            pattern database heuristic, or null for Manhattan distance
+     * @param width
+     *            number of columns on the board
+     * @param allNodes
+     *            the frontier of Nodes
+     * @param seenNodes
+     *            best Node found so far for every reached state
+     * @param stats
+     *            counts what the search does, or null to not count it
+     */
+    public static void queueChild(Node child, Node parent, int[] goalPositions, PatternHeuristic patterns,
+            int width, OpenList allNodes, HashMap<BoardKey, Node> seenNodes, SearchStats stats) {
+        if (child == null) {
+            return;
+        }
+        if (stats != null) {
+            stats.generated();
+        }
+        child.pathCost = parent.pathCost + 1;
+        BoardKey key = BoardKey.pack(child.state);
+        Node seen = seenNodes.get(key);
+        if (seen == null) {
+            if (patterns == null) {
+                child.cost2Go = cost2Go(child, parent, goalPositions, width);
+            } else {
+                child.cost2Go = patterns.cost2Go(child.state);
+            }
+            seenNodes.put(key, child);
+            allNodes.add(child);
+        } else if (child.pathCost >= seen.pathCost) {
+            if (stats != null) {
+                stats.duplicate();
+            }
+        } else if (allNodes.contains(seen)) {
+            //cheaper path to a queued state
+            seen.pathCost = child.pathCost;
+            seen.depth = child.depth;
+            seen.parentNode = parent;
+            seen.action = child.action;
+            allNodes.decreaseKey(seen);
+        } else {
+            //cheaper path to an expanded state, reopen it
+            child.cost2Go = seen.cost2Go;
+            seenNodes.put(key, child);
+            allNodes.add(child);
+        }
+    }
+
+    /**
+     * Iterative deepening A* Search of the puzzle. Runs depth first searches
+     * bounded by f = pathCost + cost2Go, raising the bound to the smallest f
+     * that went over it. A single board is changed in place and restored on
+     * the way back, so memory grows only with the solution length and no
+     * Nodes are made until the solution is found.
+     *
+     * @param selected
+     *            Stack of the solution, left empty if the state is unsolvable
+     * @param initialState
+     *            Node to branch from
+     * @param goalState
+     *            the endpoint
+     * @param patterns
+     *            pattern database heuristic, or null for Manhattan distance
+     * @param width
+     *            number of columns on the board
+     * @param stats
+     *            counts what the search does, or null to not count it
+     */
+    public static void idaStarSearch(Stack<Node> selected, Node initialState, int[] goalState,
+            PatternHeuristic patterns, int width, SearchStats stats) {
+        if (!SlidingPuzzle.isSolvable(initialState.state, goalState, width)) {
+            return;
+        }
+        int[] board = initialState.state.clone();
+        int blankIndex = SlidingPuzzle.blankIndex(board);
+        int[] goalPositions = goalPositions(goalState);
+        int h;
+        if (patterns == null) {
+            h = cost2Go(board, goalPositions, width);
+        } else {
+            h = patterns.cost2Go(board);
+        }
+        if (stats != null) {
+            stats.start();
+        }
+        int bound = h;
+        Actions[] path = new Actions[bound + 1];
+        while (bound != FOUND) {
+            if (path.length <= bound) {
+                path = new Actions[bound + 1];
+            }
+            bound = idaStarBound(board, blankIndex, goalPositions, patterns, width, 0, h, bound, initialState.action,
+                    path, stats);
+        }
+        if (stats != null) {
+            int length = 0;
+            while (length < path.length && path[length] != null) {
+                length++;
+            }
+            stats.solved(length);
+            stats.stop();
+        }
+        //replay the moves to build the solution Nodes
+        Node fin = initialState;
+        for (int k = 0; k < path.length && path[k] != null; k++) {
+            Node next = childNode(fin, path[k], width);
+            next.pathCost = fin.pathCost + 1;
+            if (patterns == null) {
+                next.cost2Go = cost2Go(next, fin, goalPositions, width);
+            } else {
+                next.cost2Go = patterns.cost2Go(next.state);
+            }
+            fin = next;
+        }
+        makeStack(selected, fin);
+    }
+
+    /**
+     * Marks a found solution in {@link #idaStarBound}.
+     */
+    private static final int FOUND = -1;
+
+    /**
+     * The four moves, kept so the search loop does not copy Actions.values().
+     */
+    private static final Actions[] MOVES = Actions.values();
+
+    /**
+     * One bounded depth first pass of IDA*.
+     *
+     * @param board
+     *            tiles of the current state, changed in place
+     * @param blankIndex
+     *            index of the blank on the board
+     * @param goalPositions
+     *            index of every tile in the goal
+     * @param patterns
+     *            pattern database heuristic, or null for Manhattan distance
+     * @param width
+     *            number of columns on the board
+     * @param pathCost
+     *            moves made so far
+     * @param h
+     *            cost2Go of the board
+     * @param bound
+     *            largest f allowed in this pass
+     * @param last
+     *            move that led here, never undone right away
+     * @param path
+     *            moves made so far, ended by null once the solution is found
+     * @param stats
+     *            counts what the search does, or null
+     * @return FOUND, or the smallest f over the bound
+     */
+    private static int idaStarBound(int[] board, int blankIndex, int[] goalPositions, PatternHeuristic patterns,
+            int width, int pathCost, int h, int bound, Actions last, Actions[] path, SearchStats stats) {
+        int f = pathCost + h;
+        if (f > bound) {
+            return f;
+        }
+        //the blank is not counted, so h is 0 only at the goal
+        if (h == 0) {
+            if (pathCost < path.length) {
+                path[pathCost] = null;
+            }
+            return FOUND;
+        }
+        if (stats != null) {
+            stats.expanded(pathCost);
+        }
+        int min = Integer.MAX_VALUE;
+        Actions back = opposite(last);
+        for (Actions move : MOVES) {
+            int nextIndex = SlidingPuzzle.moveIndex(blankIndex, move.ordinal(), width, board.length);
+            if (move == back || nextIndex < 0) {
+                continue;
+            }
+            if (stats != null) {
+                stats.generated();
+            }
+            int tile = board[nextIndex];
+            board[blankIndex] = tile;
+            board[nextIndex] = 0;
+            int childH;
+            if (patterns == null) {
+                childH = h - distance(tile, nextIndex, goalPositions, width)
+                        + distance(tile, blankIndex, goalPositions, width);
+            } else {
+                childH = patterns.cost2Go(board);
+            }
+            path[pathCost] = move;
+            int t = idaStarBound(board, nextIndex, goalPositions, patterns, width, pathCost + 1, childH, bound, move,
+                    path, stats);
+            board[nextIndex] = tile;
+            board[blankIndex] = 0;
+            if (t == FOUND) {
+                return FOUND;
+            }
+            if (t < min) {
+                min = t;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Bidirectional breadth first Search of the puzzle. Grows one layer at a
+     * time from the start and from the goal, always on the side with the
+     * smaller frontier, until a state turns up on both sides. The two parent
+     * chains are then joined into one path.
+     *
+     * @param selected
+     *            Stack of the solution, left empty if there is none
+     * @param initialState
+     *            Node to branch from
+     * @param goalState
+     *            the endpoint
+     * @param width
+     *            number of columns on the board
+     * @param stats
+     *            counts what the search does, or null to not count it
+     */
+    public static void bidirectionalSearch(Stack<Node> selected, Node initialState, int[] goalState, int width,
+            SearchStats stats) {
+        layeredSearch(selected, initialState, goalState, width, true, stats);
+    }
+
+    /**
+     * Plain breadth first Search of the puzzle, growing only from the start.
+     *
+     * @param selected
+     *            Stack of the solution, left empty if there is none
+     * @param initialState
+     *            Node to branch from
+     * @param goalState
+     *            the endpoint
+     * @param width
+     *            number of columns on the board
+     * @param stats
+     *            counts what the search does, or null to not count it
+     */
+    public static void breadthFirstSearch(Stack<Node> selected, Node initialState, int[] goalState, int width,
+            SearchStats stats) {
+        layeredSearch(selected, initialState, goalState, width, false, stats);
+    }
+
+    /**
+     * Breadth first search by whole layers, from the start only or from both
+     * ends. The solution is always a shortest path: a layer is only grown
+     * once the layer before it on the same side is complete.
+     *
+     * @param selected
+     *            Stack of the solution, left empty if there is none
+     * @param initialState
+     *            Node to branch from
+     * @param goalState
+     *            the endpoint
+     * @param width
+     *            number of columns on the board
+     * @param bothSides
+     *            true to also grow from the goal, always on the side with
+     *            the smaller frontier; false to grow from the start only
+     * @param stats
+     *            counts what the search does, or null
+     */
+    private static void layeredSearch(Stack<Node> selected, Node initialState, int[] goalState, int width,
+            boolean bothSides, SearchStats stats) {
+        if (!SlidingPuzzle.isSolvable(initialState.state, goalState, width)) {
+            return;
+        }
+        Node goalNode = new Node();
+        goalNode.state = goalState.clone();
+        HashMap<BoardKey, Node> forward = new HashMap<BoardKey, Node>();
+        HashMap<BoardKey, Node> backward = new HashMap<BoardKey, Node>();
+        forward.put(BoardKey.pack(initialState.state), initialState);
+        backward.put(BoardKey.pack(goalState), goalNode);
+        ArrayList<Node> forwardLayer = new ArrayList<Node>();
+        ArrayList<Node> backwardLayer = new ArrayList<Node>();
+        forwardLayer.add(initialState);
+        backwardLayer.add(goalNode);
+        //forward and backward Node of the best meeting point
+        Node[] meeting = new Node[2];
+        if (Arrays.equals(initialState.state, goalState)) {
+            meeting[0] = initialState;
+            meeting[1] = goalNode;
+        }
+        if (stats != null) {
+            stats.start();
+        }
+        while (meeting[0] == null && !forwardLayer.isEmpty() && !backwardLayer.isEmpty()) {
+            if (stats != null) {
+                stats.frontier(forwardLayer.size() + backwardLayer.size());
+            }
+            if (!bothSides || forwardLayer.size() <= backwardLayer.size()) {
+                forwardLayer = expandLayer(forwardLayer, forward, backward, width, meeting, false, stats);
+            } else {
+                backwardLayer = expandLayer(backwardLayer, backward, forward, width, meeting, true, stats);
+            }
+        }
+        if (stats != null) {
+            if (meeting[0] != null) {
+                stats.solved(meeting[0].pathCost + meeting[1].pathCost - initialState.pathCost);
+            }
+            stats.stop();
+        }
+        if (meeting[0] == null) {
+            return;
+        }
+        //walk the backward chain to the goal, undoing each of its moves
+        Node fin = meeting[0];
+        Node back = meeting[1];
+        while (back.parentNode != null) {
+            Node next = childNode(fin, opposite(back.action), width);
+            next.pathCost = fin.pathCost + 1;
+            fin = next;
+            back = back.parentNode;
+        }
+        makeStack(selected, fin);
+    }
+
+    /**
+     * Expands one whole layer of a breadth first search.
+     *
+     * @param layer
+     *            Nodes at the current depth of this side
+     * @param own
+     *            every state reached by this side
+     * @param other
+     *            every state reached by the opposite side
+     * @param width
+     *            number of columns on the board
+     * @param meeting
+     *            receives the forward and backward Node of the shortest
+     *            joined path found in this layer
+     * @param backwardSide
+     *            true if this layer grows from the goal
+     * @param stats
+     *            counts what the search does, or null
+     * @return the next layer
+     */
+    private static ArrayList<Node> expandLayer(ArrayList<Node> layer, HashMap<BoardKey, Node> own,
+            HashMap<BoardKey, Node> other, int width, Node[] meeting, boolean backwardSide, SearchStats stats) {
+        ArrayList<Node> next = new ArrayList<Node>();
+        int best = Integer.MAX_VALUE;
+        for (Node node : layer) {
+            if (stats != null) {
+                stats.expanded(node.pathCost);
+            }
+            for (Actions move : MOVES) {
+                Node child = childNode(node, move, width);
+                if (child == null) {
+                    continue;
+                }
+                if (stats != null) {
+                    stats.generated();
+                }
+                BoardKey key = BoardKey.pack(child.state);
+                if (own.containsKey(key)) {
+                    if (stats != null) {
+                        stats.duplicate();
+                    }
+                    continue;
+                }
+                child.pathCost = node.pathCost + 1;
+                own.put(key, child);
+                next.add(child);
+                Node match = other.get(key);
+                if (match != null && child.pathCost + match.pathCost < best) {
+                    best = child.pathCost + match.pathCost;
+                    meeting[0] = backwardSide ? match : child;
+                    meeting[1] = backwardSide ? child : match;
+                }
+            }
+        }
+        return next;
+    }
+
+    /**
+     * builds the final Stack of the found path.
+     *
+     * @param selected
+     *            stack of nodes in the final path
+     * @param fin
+     *            Node to be pushed on to the stack
+     */
+    public static void makeStack(Stack<Node> selected, Node fin) {
+        while (fin != null) {
+            selected.push(fin);
+            fin = fin.parentNode;
+        }
+    }
+
+    /**
+     * returns smallest cost.
+     *
+     * @param allNodes
+     *            the frontier of nodes
+     * @return smallest cost
+     */
+    public static Node getSmallest(OpenList allNodes) {
+        return allNodes.peek();
+    }
+
+    /**
+     * writes the node states out of the Stack.
+     *
+     * @param selected
+     *            solution of the search
+     * @param width
+     *            number of columns on the board
+     */
+    public static void stackWriter(Stack<Node> selected, int width) {
+        while (!selected.empty()) {
+            Node next = selected.pop();
+            writeState(next, width);
+        }
+    }
+
+    /**
+     * Sums the Manhattan distance of every misplaced tile. The blank is
+     * left out so the estimate never overshoots the real cost. Builds the
+     * goal index table for the one call; a search that already holds it
+     * should pass it to the other cost2Go.
+     *
+     * @param toFind
+     *            Node to check how far off it is
+     * @param goalState
+     *            destination state
+     * @param width
+     *            number of columns on the board
+     * @return summed distance of the misplaced tiles
+     */
+    public static int cost2Go(Node toFind, int[] goalState, int width) {
+        return cost2Go(toFind.state, goalPositions(goalState), width);
+    }
+
+    /**
+     * Sums the Manhattan distance of every tile but the blank, looking each
+     * goal index up rather than searching the goal for it.
+     *
+     * @param state
+     *            the board
+     * @param goalPositions
+     *            index of every tile in the goal, from {@link #goalPositions}
+     * @param width
+     *            number of columns on the board
+     * @return summed distance of the misplaced tiles
+     */
+    public static int cost2Go(int[] state, int[] goalPositions, int width) {
+        int misplaced = 0;
+        for (int k = 0; k < state.length; k++) {
+            if (state[k] != 0) {
+                misplaced += distance(state[k], k, goalPositions, width);
+            }
+        }
+        return misplaced;
+    }
+
+    /**
+     * Finds the cost2Go of a child from its parent's. Only the tile that slid
+     * into the parent's blank moved, so just its distance is updated.
+     *
+     * @param child
+     *            Node made by {@link #childNode} from the parent
+     * @param parent
+     *            Node with a known cost2Go and blank
+     * @param goalPositions
+     *            index of every tile in the goal
+     * @param width
+     *            number of columns on the board
+     * @return summed distance of the misplaced tiles of the child
+     */
+    public static int cost2Go(Node child, Node parent, int[] goalPositions, int width) {
+        int tile = child.state[parent.blank];
+        return parent.cost2Go - distance(tile, child.blank, goalPositions, width)
+                + distance(tile, parent.blank, goalPositions, width);
+    }
+
+    /**
+     * Finds the Manhattan distance of a tile from its goal index.
+     *
+     * @param tile
+     *            the tile value
+     * @param index1
+     *            index the tile sits at
+     * @param goalPositions
+     *            index of every tile in the goal
+     * @param width
+     *            number of columns on the board
+     * @return moves the tile is away from home
+     */
+    public static int distance(int tile, int index1, int[] goalPositions, int width) {
+        int index2 = goalPositions[tile];
+        return Math.abs(index1 / width - index2 / width) + Math.abs(index1 % width - index2 % width);
+    }
+
+    /**
+     * Builds the lookup table of where every tile sits in the goal.
+     *
+     * @param goalState
+     *            final state
+     * @return goal index of each tile value
+     */
+    public static int[] goalPositions(int[] goalState) {
+        int[] goalPositions = new int[goalState.length];
+        for (int k = 0; k < goalState.length; k++) {
+            goalPositions[goalState[k]] = k;
+        }
+        return goalPositions;
+    }
+
+    /**
+     * Creates a start Node from a list of tiles.
+     *
+     * @param tiles
+     *            the tiles in row order, 0 for the blank
+     * @param goalState
+     *            the endpoint
+     * @param width
+     *            number of columns on the board
+     * @return the start Node
+     */
+    public static Node makeNode(int[] tiles, int[] goalState, int width) {
+        Node node = new Node();
+        node.state = tiles.clone();
+        node.cost2Go = cost2Go(node, goalState, width);
+        return node;
+    }
+
+    /**
+     * Writes the counts of a search.
+     *
+     * @param stats
+     *            what the search did
+     */
+    public static void writeCounts(SearchStats stats) {
+        System.out.println("Expanded: " + stats.getExpanded() + ", generated: " + stats.getGenerated()
+                + ", duplicates: " + stats.getDuplicates());
+    }
+
+    /**
+     * Main method.
+     *
+     * @param args
+     *            the command line arguments; "ida" solves with IDA*, "bidi"
+     *            solves with bidirectional breadth first search; "stats"
+     *            before either also prints what the search did as JSON
+     */
+    public static void main(String[] args) {
+        boolean json = args.length > 0 && args[0].equals("stats");
+        if (json) {
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+        SearchStats stats = new SearchStats();
+
+        int width = 3;
+        int[] goalState = { 0, 1, 2, 3, 4, 5, 6, 7, 8 };
+        OpenList allNodes = new OpenList();
+        HashMap<BoardKey, Node> seenNodes = new HashMap<BoardKey, Node>();
+        Node initialState = new Node();
+        Stack<Node> finished = new Stack<Node>();
+        initialState.state = new int[goalState.length];
+        initialState.state[0] = 0;
+        initialState.state[1] = 3;
+        initialState.state[2] = 5;
+        initialState.state[3] = 4;
+        initialState.state[4] = 2;
+        initialState.state[5] = 7;
+        initialState.state[6] = 6;
+        initialState.state[7] = 8;
+        initialState.state[8] = 1;
+
+        int actionsMade = 0;
+        initialState.pathCost = actionsMade;
+        initialState.cost2Go = cost2Go(initialState, goalState, width);
+        if (!SlidingPuzzle.isSolvable(initialState.state, goalState, width)) {
+            System.out.println("Unsolvable");
+            return;
+        }
+        if (args.length > 0 && args[0].equals("ida")) {
+            idaStarSearch(finished, initialState, goalState, null, width, stats);
+        } else if (args.length > 0 && args[0].equals("bidi")) {
+            bidirectionalSearch(finished, initialState, goalState, width, stats);
+        } else {
+            aStarSearch(finished, initialState, goalState, goalPositions(goalState), null, width, allNodes,
+                    seenNodes, stats);
+        }
+        stackWriter(finished, width);
+        writeCounts(stats);
+        if (json) {
+            System.out.println(stats.toJson());
+        }
+
+    }
+
+}
@@ -0,0 +1,24 @@
+package simpleai.puzzles.astar;
+
+/**
+ * Node Subclass
+ */
+public class Node {
+    public enum Actions {
+        up, down, left, right
+    }
+
+    public int[] state;
+    public Node parentNode;
+    public Actions action;
+    public int pathCost;
+    public int depth;
+    public int cost2Go;
+    //index of the blank, -1 until it is looked up
+    int blank = -1;
+    //position in the open list heap, -1 when not queued
+    int heapIndex = -1;
+    //insertion order, used to break ties between equal costs
+    long order;
+
+}
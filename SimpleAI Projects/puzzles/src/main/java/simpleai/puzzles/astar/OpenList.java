@@ -0,0 +1,208 @@
+package simpleai.puzzles.astar;
+
+import java.util.Arrays;
+
+/**
+ * Indexed binary min-heap used as the A* frontier, ordered by
+ * f = pathCost + cost2Go. Every queued Node keeps its own heap position, so
+ * removing or re-keying a Node is O(log n).
+ */
+public class OpenList {
+    /**
+     * How Nodes with equal f are ordered.
+     */
+    public enum TieBreak {
+        //oldest Node first
+        fifo,
+        //newest Node first
+        lifo,
+        //deepest Node first, newest first among equal depths
+        highG
+    }
+
+    private final TieBreak tieBreak;
+    private Node[] heap = new Node[64];
+    private int size;
+    private long inserted;
+
+    /**
+     * Creates an open list that breaks ties deepest first.
+     */
+    public OpenList() {
+        this(TieBreak.highG);
+    }
+
+    /**
+     * Creates an open list with the given tie-break policy.
+     *
+     * @param tieBreak
+     *            order of Nodes with equal f
+     */
+    public OpenList(TieBreak tieBreak) {
+        this.tieBreak = tieBreak;
+    }
+
+    /**
+     * Number of Nodes in the list.
+     *
+     * @return the size of the frontier
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the frontier is empty.
+     *
+     * @return true if there are no Nodes left
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks if the given Node is currently queued.
+     *
+     * @param node
+     *            Node to look for
+     * @return true if the Node is in the frontier
+     */
+    public boolean contains(Node node) {
+        return node.heapIndex >= 0 && node.heapIndex < size && heap[node.heapIndex] == node;
+    }
+
+    /**
+     * Adds a Node to the frontier.
+     *
+     * @param node
+     *            Node to queue
+     */
+    public void add(Node node) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        node.order = inserted++;
+        heap[size] = node;
+        node.heapIndex = size;
+        size++;
+        siftUp(node.heapIndex);
+    }
+
+    /**
+     * Returns the Node with the smallest cost without removing it.
+     *
+     * @return the best Node or null if empty
+     */
+    public Node peek() {
+        if (size == 0) {
+            return null;
+        }
+        return heap[0];
+    }
+
+    /**
+     * Removes and returns the Node with the smallest cost.
+     *
+     * @return the best Node or null if empty
+     */
+    public Node poll() {
+        Node best = peek();
+        if (best != null) {
+            remove(best);
+        }
+        return best;
+    }
+
+    /**
+     * Removes the given Node from the frontier.
+     *
+     * @param node
+     *            Node to remove
+     * @return true if the Node was queued
+     */
+    public boolean remove(Node node) {
+        if (!contains(node)) {
+            return false;
+        }
+        int index = node.heapIndex;
+        size--;
+        Node last = heap[size];
+        heap[size] = null;
+        node.heapIndex = -1;
+        if (index != size) {
+            heap[index] = last;
+            last.heapIndex = index;
+            siftDown(index);
+            siftUp(last.heapIndex);
+        }
+        return true;
+    }
+
+    /**
+     * Restores the heap order after the cost of a queued Node went down.
+     *
+     * @param node
+     *            Node whose cost was lowered
+     */
+    public void decreaseKey(Node node) {
+        if (contains(node)) {
+            siftUp(node.heapIndex);
+        }
+    }
+
+    /**
+     * Orders two Nodes by f, then by the tie-break policy.
+     */
+    private boolean less(Node a, Node b) {
+        int fA = a.pathCost + a.cost2Go;
+        int fB = b.pathCost + b.cost2Go;
+        if (fA != fB) {
+            return fA < fB;
+        }
+        switch (tieBreak) {
+            case lifo:
+                return a.order > b.order;
+            case highG:
+                if (a.pathCost != b.pathCost) {
+                    return a.pathCost > b.pathCost;
+                }
+                return a.order > b.order;
+            default:
+                return a.order < b.order;
+        }
+    }
+
+    private void siftUp(int index) {
+        Node node = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!less(node, heap[parent])) {
+                break;
+            }
+            heap[index] = heap[parent];
+            heap[index].heapIndex = index;
+            index = parent;
+        }
+        heap[index] = node;
+        node.heapIndex = index;
+    }
+
+    private void siftDown(int index) {
+        Node node = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], node)) {
+                break;
+            }
+            heap[index] = heap[child];
+            heap[index].heapIndex = index;
+            index = child;
+        }
+        heap[index] = node;
+        node.heapIndex = index;
+    }
+}
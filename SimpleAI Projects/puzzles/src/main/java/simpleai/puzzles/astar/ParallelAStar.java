@@ -0,0 +1,334 @@
+package simpleai.puzzles.astar;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Stack;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import simpleai.core.BoardKey;
+import simpleai.core.SearchStats;
+import simpleai.core.SlidingPuzzle;
+
+/**
+ * Hash distributed A* (HDA*). Every state belongs to one worker thread,
+ * chosen by a hash of its packed key, and only that worker keeps it in an
+ * open list and duplicate table. Children owned by another worker are sent
+ * to it in batches through lock-free queues. A worker with nothing to do
+ * parks until a batch is sent to it or the search ends. When the caller
+ * passes a
+ * SearchStats, each worker counts into its own and the counts are merged
+ * into the caller's once the workers are joined; the frontier is the
+ * largest of any one worker.
+ */
+public final class ParallelAStar {
+    /**
+     * Children buffered per destination before a batch is sent.
+     */
+    private static final int BATCH = 64;
+
+    /**
+     * Longest an idle worker parks before looking for work again, in case a
+     * wake up is missed.
+     */
+    private static final long IDLE_PARK_NANOS = 1000000;
+
+    private final Worker[] workers;
+    private final int[] goalPositions;
+    private final int width;
+    //path cost of the start Node, so depths count from it
+    private final int rootCost;
+    //whether the workers count what they do
+    private final boolean counted;
+    //cost of the best solution found so far
+    private final AtomicInteger incumbent = new AtomicInteger(Integer.MAX_VALUE);
+    private Node goalNode;
+    //batches sent and not yet acknowledged by an idle receiver, counting the
+    //start Node as one, so it is 0 only once every worker is out of work
+    private final AtomicLong pending = new AtomicLong();
+    private volatile boolean done;
+
+    /**
+     * Sets up the workers.
+     */
+    private ParallelAStar(int threads, int[] goalState, PatternHeuristic patterns, int width, int rootCost,
+            boolean counted) {
+        this.goalPositions = AStar.goalPositions(goalState);
+        this.width = width;
+        this.rootCost = rootCost;
+        this.counted = counted;
+        this.workers = new Worker[threads];
+        for (int k = 0; k < threads; k++) {
+            workers[k] = new Worker(k, patterns == null ? null : patterns.copy());
+        }
+    }
+
+    /**
+     * Parallel A* Search of the puzzle.
+     *
+     * @param selected
+     *            Stack of the solution, left empty if there is none
+     * @param initialState
+     *            Node to branch from, with its cost2Go set
+     * @param goalState
+     *            the endpoint
+     * @param patterns
+     *            pattern database heuristic, or null for Manhattan distance
+     * @param width
+     *            number of columns on the board
+     * @param threads
+     *            number of worker threads
+     * @param stats
+     *            counts what the search does, or null to not count it. If
+     *            the calling thread is interrupted, the workers are stopped
+     *            and joined, the solution is left empty and the interrupt
+     *            status is kept.
+     */
+    public static void search(Stack<Node> selected, Node initialState, int[] goalState, PatternHeuristic patterns,
+            int width, int threads, SearchStats stats) {
+        if (!SlidingPuzzle.isSolvable(initialState.state, goalState, width)) {
+            return;
+        }
+        ParallelAStar search = new ParallelAStar(threads, goalState, patterns, width, initialState.pathCost,
+                stats != null);
+        if (stats != null) {
+            stats.start();
+        }
+        Worker first = search.workers[search.owner(BoardKey.pack(initialState.state))];
+        //the start Node is the first batch, acknowledged when its owner goes idle
+        search.pending.set(1);
+        first.received = 1;
+        first.insert(initialState);
+        for (Worker worker : search.workers) {
+            worker.start();
+        }
+        boolean interrupted = false;
+        for (Worker worker : search.workers) {
+            //the workers must not outlive the search, so keep joining
+            while (true) {
+                try {
+                    worker.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    search.finish();
+                }
+            }
+            if (stats != null) {
+                stats.merge(worker.stats);
+            }
+        }
+        //a search cut short has no proof its best solution is optimal
+        Node goal = interrupted ? null : search.goalNode;
+        if (stats != null) {
+            if (goal != null) {
+                stats.solved(goal.pathCost - initialState.pathCost);
+            }
+            stats.stop();
+        }
+        if (goal != null) {
+            AStar.makeStack(selected, goal);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Picks the worker that owns a state.
+     */
+    private int owner(BoardKey key) {
+        return (key.hashCode() >>> 1) % workers.length;
+    }
+
+    /**
+     * Records a goal Node if it beats the best solution so far.
+     */
+    private synchronized void offerSolution(Node goal) {
+        if (goal.pathCost < incumbent.get()) {
+            goalNode = goal;
+            incumbent.set(goal.pathCost);
+        }
+    }
+
+    /**
+     * Ends the search and wakes every parked worker so it can exit.
+     */
+    private void finish() {
+        done = true;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * Checks if every worker is out of useful work.
+     */
+    private boolean allIdle() {
+        for (Worker worker : workers) {
+            if (!worker.idle) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * One search thread and the states it owns.
+     */
+    private final class Worker extends Thread {
+        private final int index;
+        private final PatternHeuristic patterns;
+        private final OpenList open = new OpenList();
+        private final HashMap<BoardKey, Node> seen = new HashMap<BoardKey, Node>();
+        private final ConcurrentLinkedQueue<Node[]> mailbox = new ConcurrentLinkedQueue<Node[]>();
+        private final Node[][] outbox;
+        private final int[] outboxSize;
+        //this worker's share of the counts, or null to not count them
+        private final SearchStats stats = counted ? new SearchStats() : null;
+        //set only after the outboxes are flushed and nothing is left to expand
+        private volatile boolean idle;
+        private long received;
+
+        Worker(int index, PatternHeuristic patterns) {
+            super("hda-" + index);
+            this.index = index;
+            this.patterns = patterns;
+            this.outbox = new Node[workers.length][BATCH];
+            this.outboxSize = new int[workers.length];
+        }
+
+        @Override
+        public void run() {
+            int sinceFlush = 0;
+            while (!done) {
+                Node[] batch;
+                while ((batch = mailbox.poll()) != null) {
+                    idle = false;
+                    received++;
+                    for (Node node : batch) {
+                        insert(node);
+                    }
+                }
+                Node best = open.peek();
+                if (best != null && best.pathCost + best.cost2Go < incumbent.get()) {
+                    idle = false;
+                    open.remove(best);
+                    if (best.cost2Go == 0) {
+                        offerSolution(best);
+                    } else {
+                        expand(best);
+                        if (stats != null) {
+                            stats.frontier(open.size());
+                        }
+                    }
+                    if (++sinceFlush >= BATCH) {
+                        flushAll();
+                        sinceFlush = 0;
+                    }
+                } else {
+                    flushAll();
+                    idle = true;
+                    //acknowledge only once idle, so pending covers all the work they caused
+                    if (received > 0) {
+                        pending.addAndGet(-received);
+                        received = 0;
+                    }
+                    //pending is read again after the idle flags, so a batch sent
+                    //while they were read keeps the search going
+                    if (pending.get() == 0 && allIdle() && pending.get() == 0) {
+                        finish();
+                    } else if (mailbox.isEmpty()) {
+                        //idle is set before the mailbox is read and a sender adds
+                        //before it reads idle, so one of them sees the other
+                        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Adds a Node this worker owns, with the same duplicate rules as
+         * {@link AStar#queueChild}.
+         */
+        void insert(Node node) {
+            BoardKey key = BoardKey.pack(node.state);
+            Node seenNode = seen.get(key);
+            if (seenNode == null) {
+                seen.put(key, node);
+                open.add(node);
+            } else if (node.pathCost >= seenNode.pathCost) {
+                if (stats != null) {
+                    stats.duplicate();
+                }
+            } else if (open.contains(seenNode)) {
+                seenNode.pathCost = node.pathCost;
+                seenNode.depth = node.depth;
+                seenNode.parentNode = node.parentNode;
+                seenNode.action = node.action;
+                open.decreaseKey(seenNode);
+            } else {
+                seen.put(key, node);
+                open.add(node);
+            }
+        }
+
+        /**
+         * Generates the children of a Node and hands each to its owner.
+         */
+        private void expand(Node parent) {
+            if (stats != null) {
+                stats.expanded(parent.pathCost - rootCost);
+            }
+            for (Node.Actions move : Node.Actions.values()) {
+                Node child = AStar.childNode(parent, move, width);
+                if (child == null) {
+                    continue;
+                }
+                if (stats != null) {
+                    stats.generated();
+                }
+                child.pathCost = parent.pathCost + 1;
+                if (patterns == null) {
+                    child.cost2Go = AStar.cost2Go(child, parent, goalPositions, width);
+                } else {
+                    child.cost2Go = patterns.cost2Go(child.state);
+                }
+                if (child.pathCost + child.cost2Go >= incumbent.get()) {
+                    continue;
+                }
+                int target = owner(BoardKey.pack(child.state));
+                if (target == index) {
+                    insert(child);
+                } else {
+                    outbox[target][outboxSize[target]++] = child;
+                    if (outboxSize[target] == BATCH) {
+                        flush(target);
+                    }
+                }
+            }
+        }
+
+        private void flushAll() {
+            for (int k = 0; k < outbox.length; k++) {
+                flush(k);
+            }
+        }
+
+        private void flush(int target) {
+            if (outboxSize[target] > 0) {
+                Node[] batch = Arrays.copyOf(outbox[target], outboxSize[target]);
+                outboxSize[target] = 0;
+                //count the batch before it can be seen and acknowledged
+                pending.incrementAndGet();
+                Worker receiver = workers[target];
+                receiver.mailbox.add(batch);
+                if (receiver.idle) {
+                    LockSupport.unpark(receiver);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package simpleai.puzzles.astar;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import simpleai.core.SlidingPuzzle;
+
+/**
+ * Pattern database for one group of tiles. Holds, for every placement of
+ * the group's tiles, the fewest moves of those tiles needed to bring them
+ * home. Moves of other tiles are free, so databases over disjoint groups
+ * can be added together and stay admissible. Entries are bytes indexed by
+ * the permutation rank of the tiles' positions.
+ */
+public class PatternDatabase {
+    /**
+     * First int of a pattern database file, "PDB1".
+     */
+    static final int MAGIC = 0x50444231;
+
+    private final int[] tiles;
+    private final int cells;
+    private final ByteBuffer table;
+
+    /**
+     * Wraps an existing table.
+     *
+     * @param tiles
+     *            the tiles of the group
+     * @param cells
+     *            number of cells on the board
+     * @param table
+     *            one byte per placement, indexed by {@link #rank}
+     */
+    PatternDatabase(int[] tiles, int cells, ByteBuffer table) {
+        this.tiles = tiles;
+        this.cells = cells;
+        this.table = table;
+    }
+
+    /**
+     * Looks up the moves needed by this group.
+     *
+     * @param positions
+     *            index of every tile on the board
+     * @return the stored distance
+     */
+    int lookup(int[] positions) {
+        int rank = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            int position = positions[tiles[i]];
+            int smaller = 0;
+            for (int j = 0; j < i; j++) {
+                if (positions[tiles[j]] < position) {
+                    smaller++;
+                }
+            }
+            rank = rank * (cells - i) + position - smaller;
+        }
+        return table.get(rank) & 0xFF;
+    }
+
+    /**
+     * The tiles covered by this database.
+     *
+     * @return the tiles of the group
+     */
+    int[] tiles() {
+        return tiles;
+    }
+
+    /**
+     * Ranks distinct cell indexes as a partial permutation.
+     *
+     * @param positions
+     *            the cells, all different
+     * @param count
+     *            number of cells to rank
+     * @param cells
+     *            number of cells on the board
+     * @return a rank from 0 to cells! / (cells - count)! - 1
+     */
+    static int rank(int[] positions, int count, int cells) {
+        int rank = 0;
+        for (int i = 0; i < count; i++) {
+            int smaller = 0;
+            for (int j = 0; j < i; j++) {
+                if (positions[j] < positions[i]) {
+                    smaller++;
+                }
+            }
+            rank = rank * (cells - i) + positions[i] - smaller;
+        }
+        return rank;
+    }
+
+    /**
+     * Turns a rank back into cell indexes.
+     *
+     * @param rank
+     *            rank made by {@link #rank}
+     * @param count
+     *            number of cells ranked
+     * @param cells
+     *            number of cells on the board
+     * @param positions
+     *            receives the cells
+     */
+    static void unrank(int rank, int count, int cells, int[] positions) {
+        for (int i = count - 1; i >= 0; i--) {
+            positions[i] = rank % (cells - i);
+            rank /= cells - i;
+        }
+        int used = 0;
+        for (int i = 0; i < count; i++) {
+            int skip = positions[i];
+            int cell = 0;
+            while (true) {
+                if ((used & (1 << cell)) == 0) {
+                    if (skip == 0) {
+                        break;
+                    }
+                    skip--;
+                }
+                cell++;
+            }
+            positions[i] = cell;
+            used |= 1 << cell;
+        }
+    }
+
+    /**
+     * Number of partial permutations of count out of cells.
+     *
+     * @param count
+     *            number of cells picked
+     * @param cells
+     *            number of cells on the board
+     * @return cells! / (cells - count)!
+     */
+    static int placements(int count, int cells) {
+        int total = 1;
+        for (int i = 0; i < count; i++) {
+            total *= cells - i;
+        }
+        return total;
+    }
+
+    /**
+     * Builds a database by a breadth first search backwards from the goal.
+     * The search runs over the group's tiles plus the blank; moving a group
+     * tile costs one and moving any other tile costs nothing, so each cost
+     * level is closed under free moves before the next one starts.
+     *
+     * @param tiles
+     *            the tiles of the group
+     * @param goalState
+     *            final state
+     * @param width
+     *            number of columns on the board
+     * @return the database
+     */
+    static PatternDatabase build(int[] tiles, int[] goalState, int width) {
+        int cells = goalState.length;
+        int count = tiles.length + 1;
+        int[] goalPositions = AStar.goalPositions(goalState);
+        byte[] distances = new byte[placements(count, cells)];
+        Arrays.fill(distances, (byte) -1);
+        int[] positions = new int[count];
+        positions[0] = goalPositions[0];
+        for (int i = 0; i < tiles.length; i++) {
+            positions[i + 1] = goalPositions[tiles[i]];
+        }
+        int[] level = new int[1024];
+        int levelSize = 0;
+        int[] next = { rank(positions, count, cells) };
+        int nextSize = 1;
+        for (int cost = 0; nextSize > 0; cost++) {
+            //states reached by a paid move that nothing cheaper reached
+            for (int k = 0; k < nextSize; k++) {
+                if (distances[next[k]] == -1) {
+                    distances[next[k]] = (byte) cost;
+                    if (levelSize == level.length) {
+                        level = Arrays.copyOf(level, levelSize * 2);
+                    }
+                    level[levelSize++] = next[k];
+                }
+            }
+            nextSize = 0;
+            while (levelSize > 0) {
+                unrank(level[--levelSize], count, cells, positions);
+                int blank = positions[0];
+                for (int move = SlidingPuzzle.UP; move <= SlidingPuzzle.RIGHT; move++) {
+                    int target = SlidingPuzzle.moveIndex(blank, move, width, cells);
+                    if (target < 0) {
+                        continue;
+                    }
+                    int moved = 0;
+                    for (int i = 1; i < count; i++) {
+                        if (positions[i] == target) {
+                            moved = i;
+                        }
+                    }
+                    positions[0] = target;
+                    if (moved > 0) {
+                        positions[moved] = blank;
+                    }
+                    int child = rank(positions, count, cells);
+                    positions[0] = blank;
+                    if (moved > 0) {
+                        positions[moved] = target;
+                    }
+                    if (distances[child] != -1) {
+                        continue;
+                    }
+                    if (moved == 0) {
+                        distances[child] = (byte) cost;
+                        if (levelSize == level.length) {
+                            level = Arrays.copyOf(level, levelSize * 2);
+                        }
+                        level[levelSize++] = child;
+                    } else {
+                        if (nextSize == next.length) {
+                            next = Arrays.copyOf(next, Math.max(1024, nextSize * 2));
+                        }
+                        next[nextSize++] = child;
+                    }
+                }
+            }
+        }
+        //keep the best distance over all blank positions
+        byte[] table = new byte[placements(tiles.length, cells)];
+        Arrays.fill(table, (byte) -1);
+        for (int state = 0; state < distances.length; state++) {
+            unrank(state, count, cells, positions);
+            int index = rank(Arrays.copyOfRange(positions, 1, count), tiles.length, cells);
+            if ((distances[state] & 0xFF) < (table[index] & 0xFF)) {
+                table[index] = distances[state];
+            }
+        }
+        return new PatternDatabase(tiles.clone(), cells, ByteBuffer.wrap(table));
+    }
+
+    /**
+     * Writes databases to a file: the magic number, width, height, goal,
+     * and for each group its tiles and table size, then all the tables.
+     *
+     * @param file
+     *            where to write
+     * @param databases
+     *            the databases, all for the same goal
+     * @param goalState
+     *            final state
+     * @param width
+     *            number of columns on the board
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    static void write(File file, PatternDatabase[] databases, int[] goalState, int width) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeByte(width);
+            out.writeByte(goalState.length / width);
+            for (int k = 0; k < goalState.length; k++) {
+                out.writeByte(goalState[k]);
+            }
+            out.writeByte(databases.length);
+            for (PatternDatabase database : databases) {
+                out.writeByte(database.tiles.length);
+                for (int tile : database.tiles) {
+                    out.writeByte(tile);
+                }
+                out.writeInt(database.table.capacity());
+            }
+            for (PatternDatabase database : databases) {
+                ByteBuffer table = database.table.duplicate();
+                table.clear();
+                byte[] bytes = new byte[table.capacity()];
+                table.get(bytes);
+                out.write(bytes);
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Memory-maps databases written by {@link #write}.
+     *
+     * @param file
+     *            the database file
+     * @param patterns
+     *            the tile groups expected in the file
+     * @param goalState
+     *            final state expected in the file
+     * @param width
+     *            number of columns on the board
+     * @return the databases, or null if the file was made for another board,
+     *         goal or grouping
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    static PatternDatabase[] map(File file, int[][] patterns, int[] goalState, int width) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            ByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+            if (buffer.remaining() < 7 + goalState.length || buffer.getInt() != MAGIC || buffer.get() != width
+                    || buffer.get() != goalState.length / width) {
+                return null;
+            }
+            for (int k = 0; k < goalState.length; k++) {
+                if (buffer.get() != goalState[k]) {
+                    return null;
+                }
+            }
+            if (buffer.get() != patterns.length) {
+                return null;
+            }
+            int[] sizes = new int[patterns.length];
+            for (int p = 0; p < patterns.length; p++) {
+                if (buffer.get() != patterns[p].length) {
+                    return null;
+                }
+                for (int tile : patterns[p]) {
+                    if (buffer.get() != tile) {
+                        return null;
+                    }
+                }
+                sizes[p] = buffer.getInt();
+            }
+            PatternDatabase[] databases = new PatternDatabase[patterns.length];
+            for (int p = 0; p < patterns.length; p++) {
+                if (sizes[p] != placements(patterns[p].length, goalState.length) || buffer.remaining() < sizes[p]) {
+                    return null;
+                }
+                ByteBuffer table = buffer.slice();
+                table.limit(sizes[p]);
+                buffer.position(buffer.position() + sizes[p]);
+                databases[p] = new PatternDatabase(patterns[p].clone(), goalState.length, table);
+            }
+            return databases;
+        } finally {
+            //the mapping stays valid after the file is closed
+            raf.close();
+        }
+    }
+
+    /**
+     * Maps the databases from a file, building and writing them first if the
+     * file is missing or was made for something else.
+     *
+     * @param file
+     *            the database file
+     * @param patterns
+     *            disjoint tile groups
+     * @param goalState
+     *            final state
+     * @param width
+     *            number of columns on the board
+     * @return the databases
+     * @throws IOException
+     *             if the file cannot be read or written
+     */
+    public static PatternDatabase[] loadOrBuild(File file, int[][] patterns, int[] goalState, int width)
+            throws IOException {
+        if (file.exists()) {
+            PatternDatabase[] databases = map(file, patterns, goalState, width);
+            if (databases != null) {
+                return databases;
+            }
+        }
+        PatternDatabase[] databases = new PatternDatabase[patterns.length];
+        for (int p = 0; p < patterns.length; p++) {
+            databases[p] = build(patterns[p], goalState, width);
+        }
+        write(file, databases, goalState, width);
+        return map(file, patterns, goalState, width);
+    }
+}
@@ -0,0 +1,99 @@
+package simpleai.puzzles.astar;
+
+/**
+ * Heuristic made from disjoint pattern databases and Manhattan distance.
+ * Keeps a scratch array, so one instance serves one search thread.
+ */
+public class PatternHeuristic {
+    /**
+     * How the databases are combined with Manhattan distance.
+     */
+    public enum Combine {
+        //the larger of the database sum and the full Manhattan distance
+        max,
+        //the database sum plus the Manhattan distance of uncovered tiles
+        add
+    }
+
+    private final PatternDatabase[] databases;
+    private final Combine combine;
+    private final int[] goalPositions;
+    private final int width;
+    private final boolean[] covered;
+    private final int[] positions;
+
+    /**
+     * Creates the heuristic.
+     *
+     * @param databases
+     *            databases over disjoint tile groups
+     * @param combine
+     *            how to mix in Manhattan distance
+     * @param goalState
+     *            final state
+     * @param width
+     *            number of columns on the board
+     */
+    public PatternHeuristic(PatternDatabase[] databases, Combine combine, int[] goalState, int width) {
+        this.databases = databases;
+        this.combine = combine;
+        this.goalPositions = AStar.goalPositions(goalState);
+        this.width = width;
+        this.covered = new boolean[goalState.length];
+        this.positions = new int[goalState.length];
+        for (PatternDatabase database : databases) {
+            for (int tile : database.tiles()) {
+                covered[tile] = true;
+            }
+        }
+    }
+
+    /**
+     * Makes a heuristic over the same databases with its own scratch space,
+     * for use on another thread.
+     *
+     * @return the new heuristic
+     */
+    public PatternHeuristic copy() {
+        return new PatternHeuristic(databases, combine, goalPositions, width, covered);
+    }
+
+    /**
+     * Copies the settings of another heuristic.
+     */
+    private PatternHeuristic(PatternDatabase[] databases, Combine combine, int[] goalPositions, int width,
+            boolean[] covered) {
+        this.databases = databases;
+        this.combine = combine;
+        this.goalPositions = goalPositions;
+        this.width = width;
+        this.covered = covered;
+        this.positions = new int[covered.length];
+    }
+
+    /**
+     * Estimates the moves left from a state.
+     *
+     * @param state
+     *            the tiles of a board
+     * @return a lower bound on the moves to the goal
+     */
+    public int cost2Go(int[] state) {
+        int manhattan = 0;
+        for (int k = 0; k < state.length; k++) {
+            int tile = state[k];
+            positions[tile] = k;
+            if (tile != 0 && (combine == Combine.max || !covered[tile])) {
+                manhattan += AStar.distance(tile, k, goalPositions, width);
+            }
+        }
+        int total = 0;
+        for (PatternDatabase database : databases) {
+            total += database.lookup(positions);
+        }
+        if (combine == Combine.max) {
+            return Math.max(total, manhattan);
+        }
+        return total + manhattan;
+    }
+}
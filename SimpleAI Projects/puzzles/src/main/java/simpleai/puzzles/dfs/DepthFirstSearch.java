@@ -0,0 +1,513 @@
+package simpleai.puzzles.dfs;
+
+import java.util.Arrays;
+import java.util.Stack;
+
+import simpleai.core.BoardKey;
+import simpleai.core.SearchStats;
+import simpleai.core.SlidingPuzzle;
+
+/**
+ * Depth First Search of an 8 puzzle.
+ */
+public final class DepthFirstSearch extends Node {
+
+    /**
+     * Default constructor--private to prevent instantiation.
+     */
+    private DepthFirstSearch() {
+        // no code needed here
+    }
+
+    /**
+     * Finds Child Node.
+     *
+     * @param parent
+     *            Node to branch
+     * @param move
+     *            direction to move
+     * @param width
+     *            number of columns on the board
+     * @return child or null if illegal move
+     */
+    public static Node childNode(Node parent, Actions move, int width) {
+        int blankIndex = SlidingPuzzle.blankIndex(parent.state);
+        int nextIndex = SlidingPuzzle.moveIndex(blankIndex, move.ordinal(), width, parent.state.length);
+        //check that move is legal and not repetitive
+        if (nextIndex < 0
+                || parent.action != null && move.ordinal() == SlidingPuzzle.opposite(parent.action.ordinal())) {
+            return null;
+        }
+        //setting up the child node
+        Node child = new Node();
+        child.depth = parent.depth + 1;
+        child.parentNode = parent;
+        child.action = move;
+        child.state = new int[parent.state.length];
+        System.arraycopy(parent.state, 0, child.state, 0, parent.state.length);
+        child.state[blankIndex] = child.state[nextIndex];
+        child.state[nextIndex] = 0;
+
+        return child;
+    }
+
+    /**
+     * Method to Write the State of a node.
+     *
+     * @param node2Write
+     *            Node to print
+     * @param width
+     *            number of columns on the board
+     */
+    public static void writeState(Node node2Write, int width) {
+        System.out.print("Step " + node2Write.pathCost + " : ");
+        if (node2Write.action == null) {
+            System.out.println("None");
+        } else {
+            System.out.println(node2Write.action);
+        }
+        for (int k = 0; k < node2Write.state.length; k++) {
+            if (k % width == 0 && k != 0) {
+                System.out.println();
+            }
+            System.out.print(node2Write.state[k] + " ");
+        }
+        System.out.println();
+    }
+
+    /**
+     * Uses recursion to find the solution to the puzzle in IDDFS. Every
+     * Node visited counts as generated; the frontier of a depth first
+     * search is its path, so only the depth is tracked.
+     *
+     * @param selected
+     *            Solution, left empty if the state is unsolvable
+     * @param initialState
+     *            node to branch from
+     * @param goalState
+     *            destination
+     * @param width
+     *            number of columns on the board
+     * @param actionsMade
+     *            last action made
+     * @param stats
+     *            counts what the search does, or null to not count it
+     */
+    public static void depthSearch(Stack<Node> selected, Node initialState, int[] goalState, int width,
+            int actionsMade, SearchStats stats) {
+        if (initialState.parentNode == null && !SlidingPuzzle.isSolvable(initialState.state, goalState, width)) {
+            return;
+        }
+        int stepLimit = 12;
+        if (stats != null) {
+            if (initialState.parentNode == null) {
+                stats.start();
+            }
+            stats.generated();
+        }
+        if (!Arrays.equals(initialState.state, goalState) && initialState.pathCost < stepLimit) {
+            if (stats != null) {
+                stats.expanded(initialState.pathCost);
+            }
+
+            Node child1 = childNode(initialState, Actions.up, width);
+            Node child2 = childNode(initialState, Actions.down, width);
+            Node child3 = childNode(initialState, Actions.left, width);
+            Node child4 = childNode(initialState, Actions.right, width);
+            //finds legal children
+            if (child1 != null) {
+                child1.pathCost = initialState.pathCost + 1;
+                depthSearch(selected, child1, goalState, width, child1.pathCost, stats);
+            }
+
+            if (child2 != null && selected.empty()) {
+                child2.pathCost = initialState.pathCost + 1;
+                depthSearch(selected, child2, goalState, width, child2.pathCost, stats);
+            }
+
+            if (child3 != null && selected.empty()) {
+                child3.pathCost = initialState.pathCost + 1;
+                depthSearch(selected, child3, goalState, width, child3.pathCost, stats);
+            }
+
+            if (child4 != null && selected.empty()) {
+                child4.pathCost = initialState.pathCost + 1;
+                depthSearch(selected, child4, goalState, width, child4.pathCost, stats);
+            }
+        }
+        if (!selected.empty() || Arrays.equals(initialState.state, goalState)) {
+            selected.push(initialState);
+        }
+        if (stats != null && initialState.parentNode == null) {
+            if (!selected.empty()) {
+                stats.solved(selected.size() - 1);
+            }
+            stats.stop();
+        }
+
+    }
+
+    /**
+     * Iterative deepening depth first Search. Runs depth limited searches
+     * with a limit of 0, 1, 2 and so on, so the first solution found is a
+     * shortest one and nothing past its length is explored.
+     *
+     * @param selected
+     *            Solution, left empty if the state is unsolvable
+     * @param initialState
+     *            node to branch from
+     * @param goalState
+     *            destination
+     * @param width
+     *            number of columns on the board
+     * @param table
+     *            transposition table to cut repeated states, or null to
+     *            search every path
+     * @param stats
+     *            counts what the search does, or null to not count it
+     */
+    public static void iterativeDeepening(Stack<Node> selected, Node initialState, int[] goalState, int width,
+            TranspositionTable table, SearchStats stats) {
+        if (!SlidingPuzzle.isSolvable(initialState.state, goalState, width)) {
+            return;
+        }
+        if (stats != null) {
+            stats.start();
+        }
+        for (int limit = 0; selected.empty(); limit++) {
+            if (table != null) {
+                table.clear();
+            }
+            limitedSearch(selected, initialState, goalState, width, limit, table, stats);
+        }
+        if (stats != null) {
+            stats.solved(selected.size() - 1);
+            stats.stop();
+        }
+    }
+
+    /**
+     * One depth limited pass of {@link #iterativeDeepening}.
+     *
+     * @param selected
+     *            Solution
+     * @param node
+     *            node to branch from
+     * @param goalState
+     *            destination
+     * @param width
+     *            number of columns on the board
+     * @param limit
+     *            deepest pathCost to search
+     * @param table
+     *            transposition table, or null
+     * @param stats
+     *            counts what the search does, or null
+     */
+    private static void limitedSearch(Stack<Node> selected, Node node, int[] goalState, int width, int limit,
+            TranspositionTable table, SearchStats stats) {
+        if (stats != null) {
+            stats.generated();
+        }
+        if (Arrays.equals(node.state, goalState)) {
+            selected.push(node);
+            return;
+        }
+        if (node.pathCost >= limit) {
+            return;
+        }
+        if (table != null) {
+            BoardKey key = BoardKey.pack(node.state);
+            if (table.visit(key.low(), key.high(), node.pathCost)) {
+                if (stats != null) {
+                    stats.duplicate();
+                }
+                return;
+            }
+        }
+        if (stats != null) {
+            stats.expanded(node.pathCost);
+        }
+        //childNode already skips the move that undoes the last one
+        for (Actions move : Actions.values()) {
+            Node child = childNode(node, move, width);
+            if (child != null) {
+                child.pathCost = node.pathCost + 1;
+                limitedSearch(selected, child, goalState, width, limit, table, stats);
+                if (!selected.empty()) {
+                    selected.push(node);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Iterative deepening depth first Search that makes no Nodes while it
+     * searches. One byte board is changed in place, with the blank index and
+     * the moves made kept on small stacks, and each move is undone on the
+     * way back. The solution Nodes are only built once the goal is found.
+     * It visits the same states in the same order as
+     * {@link #iterativeDeepening}.
+     *
+     * @param selected
+     *            Solution, left empty if the state is unsolvable
+     * @param initialState
+     *            node to branch from
+     * @param goalState
+     *            destination
+     * @param width
+     *            number of columns on the board
+     * @param table
+     *            transposition table to cut repeated states, or null to
+     *            search every path; only boards of up to 5x5 can use it
+     * @param stats
+     *            counts what the search does, or null to not count it
+     */
+    public static void inPlaceDeepening(Stack<Node> selected, Node initialState, int[] goalState, int width,
+            TranspositionTable table, SearchStats stats) {
+        if (!SlidingPuzzle.isSolvable(initialState.state, goalState, width)) {
+            return;
+        }
+        int n = goalState.length;
+        byte[] board = new byte[n];
+        byte[] goal = new byte[n];
+        int blankIndex = 0;
+        int misplaced = 0;
+        for (int k = 0; k < n; k++) {
+            board[k] = (byte) initialState.state[k];
+            goal[k] = (byte) goalState[k];
+            if (board[k] == 0) {
+                blankIndex = k;
+            } else if (board[k] != goal[k]) {
+                misplaced++;
+            }
+        }
+        BoardKey key = table == null ? new BoardKey(0, 0) : BoardKey.pack(initialState.state);
+        int last = initialState.action == null ? -1 : initialState.action.ordinal();
+        byte[] moves = new byte[0];
+        int length = -1;
+        if (stats != null) {
+            stats.start();
+        }
+        for (int limit = 0; length < 0; limit++) {
+            if (table != null) {
+                table.clear();
+            }
+            if (moves.length < limit + 1) {
+                moves = new byte[2 * limit + 1];
+            }
+            length = inPlaceSearch(board, blankIndex, goal, misplaced, key.low(), key.high(), width, limit, last,
+                    moves, table, stats);
+        }
+        if (stats != null) {
+            stats.solved(length);
+            stats.stop();
+        }
+        //replay the moves to build the solution Nodes
+        Node fin = initialState;
+        for (int k = 0; k < length; k++) {
+            Node next = childNode(fin, Actions.values()[moves[k]], width);
+            next.pathCost = fin.pathCost + 1;
+            fin = next;
+        }
+        for (Node node = fin; node != initialState; node = node.parentNode) {
+            selected.push(node);
+        }
+        selected.push(initialState);
+    }
+
+    /**
+     * One depth limited pass of {@link #inPlaceDeepening}, run as a loop over
+     * an explicit move stack. Moves are numbered by Actions ordinal, which
+     * is the numbering of {@link SlidingPuzzle}. The board is left as it was
+     * on return.
+     *
+     * @param board
+     *            tiles of the current state, changed in place
+     * @param blankIndex
+     *            index of the blank on the board
+     * @param goal
+     *            destination
+     * @param misplaced
+     *            tiles other than the blank that are off their goal square
+     * @param keyLow
+     *            low long of the packed board, kept up to date only when
+     *            table is not null
+     * @param keyHigh
+     *            high long of the packed board, the same way
+     * @param width
+     *            number of columns on the board
+     * @param limit
+     *            most moves to make
+     * @param last
+     *            ordinal of the move that led to the board, or -1
+     * @param moves
+     *            holds the moves made, at least limit + 1 long
+     * @param table
+     *            transposition table, or null
+     * @param stats
+     *            counts what the search does, or null
+     * @return number of moves to the goal stored in moves, or -1 if the goal
+     *         is not within the limit
+     */
+    private static int inPlaceSearch(byte[] board, int blankIndex, byte[] goal, int misplaced, long keyLow,
+            long keyHigh, int width, int limit, int last, byte[] moves, TranspositionTable table,
+            SearchStats stats) {
+        int n = board.length;
+        //the next move to try at depth d is moves[d]; blank holds the blank
+        //index of every depth below the current one
+        int[] blank = new int[limit + 1];
+        int depth = 0;
+        blank[0] = blankIndex;
+        moves[0] = 0;
+        if (stats != null) {
+            stats.generated();
+        }
+        if (misplaced == 0) {
+            return 0;
+        }
+        if (limit == 0) {
+            return -1;
+        }
+        if (table != null && table.visit(keyLow, keyHigh, 0)) {
+            if (stats != null) {
+                stats.duplicate();
+            }
+            return -1;
+        }
+        if (stats != null) {
+            stats.expanded(0);
+        }
+        while (true) {
+            int move = moves[depth];
+            if (move == 4) {
+                if (depth == 0) {
+                    return -1;
+                }
+                //undo the move that led here
+                depth--;
+                int from = blank[depth];
+                int to = blank[depth + 1];
+                byte tile = board[from];
+                board[to] = tile;
+                board[from] = 0;
+                misplaced += (goal[from] == tile ? 1 : 0) - (goal[to] == tile ? 1 : 0);
+                if (table != null) {
+                    keyLow += BoardKey.low(tile, to) - BoardKey.low(tile, from);
+                    keyHigh += BoardKey.high(tile, to) - BoardKey.high(tile, from);
+                }
+                moves[depth]++;
+                continue;
+            }
+            int previous = depth == 0 ? last : moves[depth - 1];
+            int from = blank[depth];
+            int to = SlidingPuzzle.moveIndex(from, move, width, n);
+            if (to < 0 || (previous >= 0 && move == SlidingPuzzle.opposite(previous))) {
+                moves[depth]++;
+                continue;
+            }
+            //slide the tile on square to into the blank at from
+            byte tile = board[to];
+            board[from] = tile;
+            board[to] = 0;
+            misplaced += (goal[to] == tile ? 1 : 0) - (goal[from] == tile ? 1 : 0);
+            if (table != null) {
+                keyLow += BoardKey.low(tile, from) - BoardKey.low(tile, to);
+                keyHigh += BoardKey.high(tile, from) - BoardKey.high(tile, to);
+            }
+            depth++;
+            blank[depth] = to;
+            moves[depth] = 0;
+            if (stats != null) {
+                stats.generated();
+            }
+            if (misplaced == 0) {
+                //put the board back before returning the path
+                for (int d = depth - 1; d >= 0; d--) {
+                    byte back = board[blank[d]];
+                    board[blank[d + 1]] = back;
+                    board[blank[d]] = 0;
+                }
+                return depth;
+            }
+            if (depth >= limit) {
+                moves[depth] = 4;
+            } else if (table != null && table.visit(keyLow, keyHigh, depth)) {
+                if (stats != null) {
+                    stats.duplicate();
+                }
+                moves[depth] = 4;
+            } else if (stats != null) {
+                stats.expanded(depth);
+            }
+        }
+    }
+
+    /**
+     * writes the node states out of the Stack
+     *
+     * @param selected
+     * @param width
+     *            number of columns on the board
+     */
+    public static void stackWriter(Stack<Node> selected, int width) {
+        while (!selected.empty()) {
+            Node next = selected.pop();
+            writeState(next, width);
+        }
+    }
+
+    /**
+     * Main method.
+     *
+     * @param args
+     *            the command line arguments; "iddfs" solves with iterative
+     *            deepening, "inplace" with the in place version of it;
+     *            "stats" before any of the searches also prints what it
+     *            did as JSON
+     */
+    public static void main(String[] args) {
+        SearchStats stats = null;
+        if (args.length > 0 && args[0].equals("stats")) {
+            stats = new SearchStats();
+            args = Arrays.copyOfRange(args, 1, args.length);
+        }
+
+        int width = 3;
+        int[] goalState = { 0, 1, 2, 3, 4, 5, 6, 7, 8 };
+        Node initialState = new Node();
+        Stack<Node> finished = new Stack<Node>();
+        initialState.state = new int[goalState.length];
+        initialState.state[0] = 0;
+        initialState.state[1] = 3;
+        initialState.state[2] = 5;
+        initialState.state[3] = 4;
+        initialState.state[4] = 2;
+        initialState.state[5] = 7;
+        initialState.state[6] = 6;
+        initialState.state[7] = 8;
+        initialState.state[8] = 1;
+
+        int actionsMade = 0;
+        initialState.pathCost = actionsMade;
+        if (!SlidingPuzzle.isSolvable(initialState.state, goalState, width)) {
+            System.out.println("Unsolvable");
+            return;
+        }
+
+        if (args.length > 0 && args[0].equals("iddfs")) {
+            iterativeDeepening(finished, initialState, goalState, width, new TranspositionTable(16), stats);
+        } else if (args.length > 0 && args[0].equals("inplace")) {
+            inPlaceDeepening(finished, initialState, goalState, width, new TranspositionTable(16), stats);
+        } else {
+            depthSearch(finished, initialState, goalState, width, actionsMade, stats);
+        }
+        stackWriter(finished, width);
+        if (stats != null) {
+            System.out.println(stats.toJson());
+        }
+
+    }
+
+}
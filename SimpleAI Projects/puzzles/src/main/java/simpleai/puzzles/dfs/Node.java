@@ -0,0 +1,18 @@
+package simpleai.puzzles.dfs;
+
+/**
+ * Node Subclass
+ */
+public class Node {
+    public enum Actions {
+        up, down, left, right
+    }
+
+    public int[] state;
+    public Node parentNode;
+    public Actions action;
+    public int pathCost;
+    public int depth;
+    private int cost2Go;
+
+}
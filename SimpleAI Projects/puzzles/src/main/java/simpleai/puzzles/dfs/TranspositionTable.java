@@ -0,0 +1,67 @@
+package simpleai.puzzles.dfs;
+
+import java.util.Arrays;
+
+import simpleai.core.BoardKey;
+
+/**
+ * Fixed size table of the shallowest depth each packed state was reached at
+ * during one depth limited pass. Memory never grows: a state that lands on
+ * a taken slot simply replaces the entry there, which only costs pruning.
+ */
+public class TranspositionTable {
+    private final long[] lows;
+    private final long[] highs;
+    private final byte[] depths;
+    //the slot is the top bits of the mixed hash, where it mixes best
+    private final int shift;
+
+    /**
+     * Makes an empty table.
+     *
+     * @param bits
+     *            log2 of the number of entries, from 1 to 30
+     */
+    public TranspositionTable(int bits) {
+        if (bits < 1 || bits > 30) {
+            throw new IllegalArgumentException("Table size must be 2^1 to 2^30 entries: 2^" + bits);
+        }
+        lows = new long[1 << bits];
+        highs = new long[1 << bits];
+        depths = new byte[1 << bits];
+        shift = 64 - bits;
+    }
+
+    /**
+     * Empties the table before a new pass.
+     */
+    void clear() {
+        Arrays.fill(lows, 0L);
+        Arrays.fill(highs, 0L);
+    }
+
+    /**
+     * Records a visit and tells if an earlier visit already covered it. A
+     * state seen at the same or a smaller depth had at least as many moves
+     * left, so searching it again cannot find anything new.
+     *
+     * @param low
+     *            low long of the packed state, see {@link BoardKey}
+     * @param high
+     *            high long of the packed state; the two are never both 0
+     *            for a real board
+     * @param depth
+     *            moves made to reach it
+     * @return true if the state can be skipped
+     */
+    boolean visit(long low, long high, int depth) {
+        int slot = (int) (((low ^ high * 0xC2B2AE3D27D4EB4FL) * 0x9E3779B97F4A7C15L) >>> shift);
+        if (lows[slot] == low && highs[slot] == high && depths[slot] <= depth) {
+            return true;
+        }
+        lows[slot] = low;
+        highs[slot] = high;
+        depths[slot] = (byte) depth;
+        return false;
+    }
+}
@@ -0,0 +1,188 @@
+package simpleai.puzzles;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import simpleai.core.SlidingPuzzle;
+
+/**
+ * The true distance to the goal of every board of a small puzzle, found by
+ * a breadth first walk back from the goal, for checking the solvers
+ * against. Boards are keyed by their tiles packed 4 bits each, so it holds
+ * puzzles of up to 16 cells, though only small ones fit in memory.
+ */
+public class ShortestPaths {
+    private final int[] goal;
+    private final int width;
+    private final HashMap<Long, Integer> distances = new HashMap<Long, Integer>();
+
+    /**
+     * Walks every board that can reach the goal.
+     *
+     * @param goal
+     *            the endpoint
+     * @param width
+     *            number of columns on the board
+     */
+    public ShortestPaths(int[] goal, int width) {
+        this.goal = goal.clone();
+        this.width = width;
+        ArrayDeque<int[]> queue = new ArrayDeque<int[]>();
+        distances.put(key(goal), 0);
+        queue.add(goal.clone());
+        while (!queue.isEmpty()) {
+            int[] state = queue.poll();
+            int distance = distances.get(key(state));
+            int blank = SlidingPuzzle.blankIndex(state);
+            for (int move = 0; move < 4; move++) {
+                int[] child = slide(state, blank, move, width);
+                if (child != null && !distances.containsKey(key(child))) {
+                    distances.put(key(child), distance + 1);
+                    queue.add(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the fewest moves from a board to the goal.
+     *
+     * @param state
+     *            tiles of the board
+     * @return the moves, or -1 if the goal cannot be reached
+     */
+    public int distance(int[] state) {
+        Integer distance = distances.get(key(state));
+        return distance == null ? -1 : distance;
+    }
+
+    /**
+     * Lists every board that reaches the goal.
+     *
+     * @return the packed boards, see {@link #unpack}
+     */
+    public Set<Long> boards() {
+        return distances.keySet();
+    }
+
+    /**
+     * Unpacks a board from {@link #boards}.
+     *
+     * @param key
+     *            the packed board
+     * @return its tiles
+     */
+    public int[] unpack(long key) {
+        int[] state = new int[goal.length];
+        for (int k = state.length - 1; k >= 0; k--) {
+            state[k] = (int) (key & 15);
+            key >>>= 4;
+        }
+        return state;
+    }
+
+    /**
+     * Checks that a solution is a shortest path: it starts at the start,
+     * ends at the goal, slides one tile a step and is as short as can be.
+     *
+     * @param path
+     *            boards of the solution, start first
+     * @param start
+     *            the board that was solved
+     */
+    public void assertShortest(List<int[]> path, int[] start) {
+        assertEquals("solution length", distance(start), path.size() - 1);
+        assertPath(path, start, goal, width);
+    }
+
+    /**
+     * Checks that a solution starts at the start, ends at the goal and
+     * slides one tile a step.
+     *
+     * @param path
+     *            boards of the solution, start first
+     * @param start
+     *            the board that was solved
+     * @param goal
+     *            the endpoint
+     * @param width
+     *            number of columns on the board
+     */
+    public static void assertPath(List<int[]> path, int[] start, int[] goal, int width) {
+        assertArrayEquals(start, path.get(0));
+        assertArrayEquals(goal, path.get(path.size() - 1));
+        for (int k = 1; k < path.size(); k++) {
+            int[] before = path.get(k - 1);
+            int blank = SlidingPuzzle.blankIndex(before);
+            boolean adjacent = false;
+            for (int move = 0; move < 4 && !adjacent; move++) {
+                int[] after = slide(before, blank, move, width);
+                adjacent = after != null && Arrays.equals(after, path.get(k));
+            }
+            assertTrue("step " + k + " is not one slide", adjacent);
+        }
+    }
+
+    /**
+     * Makes a board by sliding the blank at random from the goal, never
+     * straight back.
+     *
+     * @param goal
+     *            the endpoint
+     * @param width
+     *            number of columns on the board
+     * @param random
+     *            source of the moves
+     * @param steps
+     *            moves to make
+     * @return the board reached
+     */
+    public static int[] randomWalk(int[] goal, int width, Random random, int steps) {
+        int[] state = goal.clone();
+        int last = -1;
+        for (int step = 0; step < steps; step++) {
+            int blank = SlidingPuzzle.blankIndex(state);
+            int move;
+            int[] next;
+            do {
+                move = random.nextInt(4);
+                next = last >= 0 && move == SlidingPuzzle.opposite(last) ? null : slide(state, blank, move, width);
+            } while (next == null);
+            state = next;
+            last = move;
+        }
+        return state;
+    }
+
+    /**
+     * Slides the blank one way.
+     *
+     * @return the new board, or null if the blank would leave the board
+     */
+    private static int[] slide(int[] state, int blank, int move, int width) {
+        int next = SlidingPuzzle.moveIndex(blank, move, width, state.length);
+        if (next < 0) {
+            return null;
+        }
+        int[] child = state.clone();
+        child[blank] = child[next];
+        child[next] = 0;
+        return child;
+    }
+
+    private static long key(int[] state) {
+        long key = 0;
+        for (int tile : state) {
+            key = key << 4 | tile;
+        }
+        return key;
+    }
+}
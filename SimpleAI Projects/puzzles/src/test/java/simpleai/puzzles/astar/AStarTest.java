@@ -0,0 +1,192 @@
+package simpleai.puzzles.astar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Stack;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import simpleai.core.BoardKey;
+import simpleai.core.SearchStats;
+import simpleai.puzzles.ShortestPaths;
+import simpleai.puzzles.astar.Node.Actions;
+
+/**
+ * Checks that every solver finds a shortest solution, against the true
+ * distances of every 8-puzzle board.
+ */
+public class AStarTest {
+    private static final int WIDTH = 3;
+    private static final int[] GOAL = { 0, 1, 2, 3, 4, 5, 6, 7, 8 };
+
+    private static ShortestPaths paths;
+    private static PatternHeuristic patterns;
+    private static List<int[]> starts;
+
+    @BeforeClass
+    public static void walkEveryBoard() {
+        paths = new ShortestPaths(GOAL, WIDTH);
+        PatternDatabase[] databases = { PatternDatabase.build(new int[] { 1, 2, 3, 4 }, GOAL, WIDTH),
+                PatternDatabase.build(new int[] { 5, 6, 7, 8 }, GOAL, WIDTH) };
+        patterns = new PatternHeuristic(databases, PatternHeuristic.Combine.add, GOAL, WIDTH);
+        starts = new ArrayList<int[]>();
+        //the start of the main method and one of the hardest boards
+        starts.add(new int[] { 0, 3, 5, 4, 2, 7, 6, 8, 1 });
+        starts.add(new int[] { 8, 0, 6, 5, 4, 7, 2, 3, 1 });
+        starts.add(GOAL.clone());
+        ArrayList<Long> boards = new ArrayList<Long>(paths.boards());
+        Collections.sort(boards);
+        Random random = new Random(3);
+        for (int k = 0; k < 25; k++) {
+            starts.add(paths.unpack(boards.get(random.nextInt(boards.size()))));
+        }
+    }
+
+    @Test
+    public void knownInstances() {
+        assertEquals(181440, paths.boards().size());
+        assertEquals(31, paths.distance(new int[] { 8, 0, 6, 5, 4, 7, 2, 3, 1 }));
+        int longest = 0;
+        for (long board : paths.boards()) {
+            longest = Math.max(longest, paths.distance(paths.unpack(board)));
+        }
+        assertEquals(31, longest);
+    }
+
+    @Test
+    public void aStarIsOptimal() {
+        for (int[] start : starts) {
+            for (OpenList.TieBreak tieBreak : OpenList.TieBreak.values()) {
+                paths.assertShortest(aStar(start, null, tieBreak), start);
+                paths.assertShortest(aStar(start, patterns, tieBreak), start);
+            }
+        }
+    }
+
+    @Test
+    public void idaStarIsOptimal() {
+        for (int[] start : starts) {
+            Stack<Node> selected = new Stack<Node>();
+            AStar.idaStarSearch(selected, AStar.makeNode(start, GOAL, WIDTH), GOAL, null, WIDTH, null);
+            paths.assertShortest(path(selected), start);
+            selected = new Stack<Node>();
+            AStar.idaStarSearch(selected, AStar.makeNode(start, GOAL, WIDTH), GOAL, patterns, WIDTH, null);
+            paths.assertShortest(path(selected), start);
+        }
+    }
+
+    @Test
+    public void breadthFirstIsOptimal() {
+        for (int[] start : starts) {
+            Stack<Node> selected = new Stack<Node>();
+            AStar.bidirectionalSearch(selected, AStar.makeNode(start, GOAL, WIDTH), GOAL, WIDTH, null);
+            paths.assertShortest(path(selected), start);
+            selected = new Stack<Node>();
+            AStar.breadthFirstSearch(selected, AStar.makeNode(start, GOAL, WIDTH), GOAL, WIDTH, null);
+            paths.assertShortest(path(selected), start);
+        }
+    }
+
+    @Test
+    public void parallelIsOptimal() {
+        for (int threads = 1; threads <= 4; threads *= 2) {
+            for (int[] start : starts) {
+                Stack<Node> selected = new Stack<Node>();
+                ParallelAStar.search(selected, AStar.makeNode(start, GOAL, WIDTH), GOAL, null, WIDTH, threads,
+                        null);
+                paths.assertShortest(path(selected), start);
+                selected = new Stack<Node>();
+                ParallelAStar.search(selected, AStar.makeNode(start, GOAL, WIDTH), GOAL, patterns, WIDTH, threads,
+                        null);
+                paths.assertShortest(path(selected), start);
+            }
+        }
+    }
+
+    @Test
+    public void unsolvableGivesNoSolution() {
+        //two tiles swapped
+        int[] start = { 0, 2, 1, 3, 4, 5, 6, 7, 8 };
+        assertEquals(-1, paths.distance(start));
+        assertTrue(aStar(start, null, OpenList.TieBreak.highG).isEmpty());
+        Stack<Node> selected = new Stack<Node>();
+        AStar.idaStarSearch(selected, AStar.makeNode(start, GOAL, WIDTH), GOAL, null, WIDTH, null);
+        assertTrue(selected.isEmpty());
+        AStar.bidirectionalSearch(selected, AStar.makeNode(start, GOAL, WIDTH), GOAL, WIDTH, null);
+        assertTrue(selected.isEmpty());
+        ParallelAStar.search(selected, AStar.makeNode(start, GOAL, WIDTH), GOAL, null, WIDTH, 2, null);
+        assertTrue(selected.isEmpty());
+    }
+
+    @Test
+    public void fifteenPuzzleSolversAgree() {
+        int[] goal = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15 };
+        Random random = new Random(4);
+        for (int k = 0; k < 6; k++) {
+            int[] start = ShortestPaths.randomWalk(goal, 4, random, 60);
+            Stack<Node> selected = new Stack<Node>();
+            AStar.aStarSearch(selected, AStar.makeNode(start, goal, 4), goal, AStar.goalPositions(goal), null, 4,
+                    new OpenList(), new HashMap<BoardKey, Node>(), null);
+            List<int[]> aStar = path(selected);
+            ShortestPaths.assertPath(aStar, start, goal, 4);
+            SearchStats stats = new SearchStats();
+            AStar.idaStarSearch(selected, AStar.makeNode(start, goal, 4), goal, null, 4, stats);
+            List<int[]> idaStar = path(selected);
+            ShortestPaths.assertPath(idaStar, start, goal, 4);
+            assertEquals(aStar.size(), idaStar.size());
+            assertEquals(idaStar.size() - 1, stats.getSolutionDepth());
+            ParallelAStar.search(selected, AStar.makeNode(start, goal, 4), goal, null, 4, 2, null);
+            assertEquals(aStar.size(), path(selected).size());
+        }
+    }
+
+    @Test
+    public void cost2GoAgreesWithManhattanDistance() {
+        int[] goalPositions = AStar.goalPositions(GOAL);
+        for (int[] start : starts) {
+            Node node = AStar.makeNode(start, GOAL, WIDTH);
+            int manhattan = 0;
+            for (int k = 0; k < start.length; k++) {
+                for (int g = 0; g < GOAL.length; g++) {
+                    if (start[k] != 0 && GOAL[g] == start[k]) {
+                        manhattan += Math.abs(k / WIDTH - g / WIDTH) + Math.abs(k % WIDTH - g % WIDTH);
+                    }
+                }
+            }
+            assertEquals(manhattan, node.cost2Go);
+            assertEquals(manhattan, AStar.cost2Go(start, goalPositions, WIDTH));
+            for (Actions move : Actions.values()) {
+                Node child = AStar.childNode(node, move, WIDTH);
+                if (child != null) {
+                    assertEquals(AStar.cost2Go(child.state, goalPositions, WIDTH),
+                            AStar.cost2Go(child, node, goalPositions, WIDTH));
+                }
+            }
+        }
+    }
+
+    private static List<int[]> aStar(int[] start, PatternHeuristic heuristic, OpenList.TieBreak tieBreak) {
+        Stack<Node> selected = new Stack<Node>();
+        AStar.aStarSearch(selected, AStar.makeNode(start, GOAL, WIDTH), GOAL, AStar.goalPositions(GOAL), heuristic,
+                WIDTH, new OpenList(tieBreak), new HashMap<BoardKey, Node>(), null);
+        return path(selected);
+    }
+
+    /**
+     * Empties a solution Stack into its boards, start first.
+     */
+    private static List<int[]> path(Stack<Node> selected) {
+        List<int[]> path = new ArrayList<int[]>();
+        while (!selected.empty()) {
+            path.add(selected.pop().state);
+        }
+        return path;
+    }
+}
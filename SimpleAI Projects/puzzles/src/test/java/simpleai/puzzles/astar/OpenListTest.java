@@ -0,0 +1,114 @@
+package simpleai.puzzles.astar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks that the indexed heap hands Nodes out in order of f, including
+ * after Nodes are re-keyed or taken out from the middle.
+ */
+public class OpenListTest {
+
+    @Test
+    public void pollsInOrderAfterDecreaseKey() {
+        Random random = new Random(1);
+        for (OpenList.TieBreak tieBreak : OpenList.TieBreak.values()) {
+            OpenList open = new OpenList(tieBreak);
+            ArrayList<Node> queued = new ArrayList<Node>();
+            for (int k = 0; k < 2000; k++) {
+                Node node = node(random.nextInt(50), random.nextInt(50));
+                open.add(node);
+                queued.add(node);
+                //lower the cost of a queued Node now and then
+                if (random.nextInt(3) == 0) {
+                    Node lowered = queued.get(random.nextInt(queued.size()));
+                    if (lowered.pathCost > 0) {
+                        lowered.pathCost -= 1 + random.nextInt(lowered.pathCost);
+                        open.decreaseKey(lowered);
+                    }
+                }
+            }
+            assertEquals(queued.size(), open.size());
+            int last = Integer.MIN_VALUE;
+            while (!open.isEmpty()) {
+                Node next = open.peek();
+                assertSame(next, open.poll());
+                assertFalse(open.contains(next));
+                int f = next.pathCost + next.cost2Go;
+                assertTrue(tieBreak + ": " + f + " polled after " + last, f >= last);
+                last = f;
+            }
+            assertNull(open.poll());
+        }
+    }
+
+    @Test
+    public void removeKeepsTheRestInOrder() {
+        Random random = new Random(2);
+        OpenList open = new OpenList();
+        ArrayList<Node> queued = new ArrayList<Node>();
+        for (int k = 0; k < 1000; k++) {
+            Node node = node(random.nextInt(40), random.nextInt(40));
+            open.add(node);
+            queued.add(node);
+        }
+        ArrayList<Node> removed = new ArrayList<Node>();
+        for (int k = 0; k < 400; k++) {
+            Node node = queued.remove(random.nextInt(queued.size()));
+            assertTrue(open.remove(node));
+            assertFalse(open.contains(node));
+            assertFalse(open.remove(node));
+            removed.add(node);
+        }
+        assertEquals(queued.size(), open.size());
+        for (Node node : queued) {
+            assertTrue(open.contains(node));
+        }
+        int last = Integer.MIN_VALUE;
+        while (!open.isEmpty()) {
+            Node next = open.poll();
+            assertFalse(removed.contains(next));
+            assertTrue(next.pathCost + next.cost2Go >= last);
+            last = next.pathCost + next.cost2Go;
+        }
+    }
+
+    @Test
+    public void breaksTiesByPolicy() {
+        //equal f, the deepest added in the middle
+        assertEquals("first", tieOrder(OpenList.TieBreak.fifo));
+        assertEquals("last", tieOrder(OpenList.TieBreak.lifo));
+        assertEquals("deepest", tieOrder(OpenList.TieBreak.highG));
+    }
+
+    /**
+     * Queues three Nodes of equal f and names the one polled first. A Node
+     * keeps its own heap position, so each list gets its own Nodes.
+     */
+    private static String tieOrder(OpenList.TieBreak tieBreak) {
+        OpenList open = new OpenList(tieBreak);
+        Node first = node(3, 7);
+        Node deepest = node(6, 4);
+        Node last = node(4, 6);
+        open.add(first);
+        open.add(deepest);
+        open.add(last);
+        Node polled = open.poll();
+        return polled == first ? "first" : polled == last ? "last" : "deepest";
+    }
+
+    private static Node node(int pathCost, int cost2Go) {
+        Node node = new Node();
+        node.pathCost = pathCost;
+        node.cost2Go = cost2Go;
+        return node;
+    }
+}
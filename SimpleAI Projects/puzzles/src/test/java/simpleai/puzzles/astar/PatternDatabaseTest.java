@@ -0,0 +1,113 @@
+package simpleai.puzzles.astar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import simpleai.puzzles.ShortestPaths;
+
+/**
+ * Checks that the pattern databases never overestimate, on every 8-puzzle
+ * board, and that they come back the same from their file.
+ */
+public class PatternDatabaseTest {
+    private static final int WIDTH = 3;
+    private static final int[] GOAL = { 0, 1, 2, 3, 4, 5, 6, 7, 8 };
+    private static final int[][] GROUPS = { { 1, 2, 3, 4 }, { 5, 6, 7, 8 } };
+
+    private static ShortestPaths paths;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void walkEveryBoard() {
+        paths = new ShortestPaths(GOAL, WIDTH);
+    }
+
+    @Test
+    public void admissibleAndAtLeastManhattan() {
+        PatternDatabase[] databases = build(GROUPS);
+        PatternHeuristic add = new PatternHeuristic(databases, PatternHeuristic.Combine.add, GOAL, WIDTH);
+        PatternHeuristic max = new PatternHeuristic(databases, PatternHeuristic.Combine.max, GOAL, WIDTH);
+        int[] goalPositions = AStar.goalPositions(GOAL);
+        int tighter = 0;
+        for (long board : paths.boards()) {
+            int[] state = paths.unpack(board);
+            int distance = paths.distance(state);
+            int manhattan = AStar.cost2Go(state, goalPositions, WIDTH);
+            int added = add.cost2Go(state);
+            assertTrue(added + " over " + distance, added <= distance);
+            assertTrue(added + " under " + manhattan, added >= manhattan);
+            assertEquals(added, max.cost2Go(state));
+            if (added > manhattan) {
+                tighter++;
+            }
+        }
+        //the databases see the tiles block each other
+        assertTrue(tighter > 0);
+        assertEquals(0, add.cost2Go(GOAL));
+    }
+
+    @Test
+    public void partialGroupsAreAdmissible() {
+        //tiles 7 and 8 are left to Manhattan distance
+        PatternDatabase[] databases = build(new int[][] { { 1, 2, 3 }, { 4, 5, 6 } });
+        PatternHeuristic add = new PatternHeuristic(databases, PatternHeuristic.Combine.add, GOAL, WIDTH);
+        PatternHeuristic max = new PatternHeuristic(databases, PatternHeuristic.Combine.max, GOAL, WIDTH);
+        for (long board : paths.boards()) {
+            int[] state = paths.unpack(board);
+            int distance = paths.distance(state);
+            assertTrue(add.cost2Go(state) <= distance);
+            assertTrue(max.cost2Go(state) <= distance);
+            assertTrue(max.cost2Go(state) <= add.cost2Go(state));
+        }
+    }
+
+    @Test
+    public void fileRoundTrip() throws IOException {
+        File file = new File(folder.getRoot(), "8-puzzle.pdb");
+        PatternDatabase[] built = PatternDatabase.loadOrBuild(file, GROUPS, GOAL, WIDTH);
+        assertTrue(file.exists());
+        PatternDatabase[] mapped = PatternDatabase.loadOrBuild(file, GROUPS, GOAL, WIDTH);
+        PatternDatabase[] fresh = build(GROUPS);
+        int[] positions = new int[GOAL.length];
+        for (long board : paths.boards()) {
+            int[] state = paths.unpack(board);
+            for (int k = 0; k < state.length; k++) {
+                positions[state[k]] = k;
+            }
+            for (int p = 0; p < GROUPS.length; p++) {
+                assertEquals(fresh[p].lookup(positions), built[p].lookup(positions));
+                assertEquals(fresh[p].lookup(positions), mapped[p].lookup(positions));
+            }
+        }
+    }
+
+    @Test
+    public void fileForAnotherPuzzleIsNotMapped() throws IOException {
+        File file = new File(folder.getRoot(), "8-puzzle.pdb");
+        PatternDatabase.loadOrBuild(file, GROUPS, GOAL, WIDTH);
+        assertNotNull(PatternDatabase.map(file, GROUPS, GOAL, WIDTH));
+        assertNull(PatternDatabase.map(file, GROUPS, new int[] { 1, 2, 3, 4, 5, 6, 7, 8, 0 }, WIDTH));
+        assertNull(PatternDatabase.map(file, new int[][] { { 1, 2, 3, 4 }, { 5, 6, 7 } }, GOAL, WIDTH));
+        assertNull(PatternDatabase.map(file, GROUPS, GOAL, 1));
+    }
+
+    private static PatternDatabase[] build(int[][] groups) {
+        PatternDatabase[] databases = new PatternDatabase[groups.length];
+        for (int p = 0; p < groups.length; p++) {
+            databases[p] = PatternDatabase.build(groups[p], GOAL, WIDTH);
+        }
+        return databases;
+    }
+}
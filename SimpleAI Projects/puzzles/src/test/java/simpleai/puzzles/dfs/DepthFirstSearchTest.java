@@ -0,0 +1,111 @@
+package simpleai.puzzles.dfs;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Stack;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import simpleai.core.SearchStats;
+import simpleai.puzzles.ShortestPaths;
+
+/**
+ * Checks that iterative deepening finds shortest solutions, and that the
+ * in-place search visits exactly what the Node search does, with and
+ * without a transposition table.
+ */
+public class DepthFirstSearchTest {
+    private static final int WIDTH = 3;
+    private static final int[] GOAL = { 0, 1, 2, 3, 4, 5, 6, 7, 8 };
+
+    private static ShortestPaths paths;
+
+    @BeforeClass
+    public static void walkEveryBoard() {
+        paths = new ShortestPaths(GOAL, WIDTH);
+    }
+
+    @Test
+    public void deepeningIsOptimalAndInPlaceMatches() {
+        Random random = new Random(5);
+        for (int k = 0; k < 20; k++) {
+            int[] start = ShortestPaths.randomWalk(GOAL, WIDTH, random, 4 + random.nextInt(40));
+            for (int bits = 0; bits <= 16; bits += 16) {
+                TranspositionTable table = bits == 0 ? null : new TranspositionTable(bits);
+                Stack<Node> selected = new Stack<Node>();
+                SearchStats nodes = new SearchStats();
+                DepthFirstSearch.iterativeDeepening(selected, start(start), GOAL, WIDTH, table, nodes);
+                List<int[]> deepened = path(selected);
+                paths.assertShortest(deepened, start);
+
+                SearchStats inPlace = new SearchStats();
+                DepthFirstSearch.inPlaceDeepening(selected, start(start), GOAL, WIDTH, table, inPlace);
+                List<int[]> replayed = path(selected);
+                paths.assertShortest(replayed, start);
+
+                assertEquals(nodes.getGenerated(), inPlace.getGenerated());
+                assertEquals(nodes.getExpanded(), inPlace.getExpanded());
+                assertEquals(nodes.getDuplicates(), inPlace.getDuplicates());
+                assertEquals(deepened.size() - 1, inPlace.getSolutionDepth());
+                for (int step = 0; step < deepened.size(); step++) {
+                    assertArrayEquals(deepened.get(step), replayed.get(step));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void tableCutsRepeatedStates() {
+        int[] start = { 8, 0, 6, 5, 4, 7, 2, 3, 1 };
+        SearchStats without = new SearchStats();
+        SearchStats with = new SearchStats();
+        Stack<Node> selected = new Stack<Node>();
+        DepthFirstSearch.inPlaceDeepening(selected, start(start), GOAL, WIDTH, null, without);
+        paths.assertShortest(path(selected), start);
+        DepthFirstSearch.inPlaceDeepening(selected, start(start), GOAL, WIDTH, new TranspositionTable(20), with);
+        paths.assertShortest(path(selected), start);
+        assertTrue(with.getGenerated() < without.getGenerated());
+        assertTrue(with.getDuplicates() > 0);
+    }
+
+    @Test
+    public void unsolvableGivesNoSolution() {
+        int[] start = { 0, 2, 1, 3, 4, 5, 6, 7, 8 };
+        Stack<Node> selected = new Stack<Node>();
+        DepthFirstSearch.iterativeDeepening(selected, start(start), GOAL, WIDTH, null, null);
+        assertTrue(selected.isEmpty());
+        DepthFirstSearch.inPlaceDeepening(selected, start(start), GOAL, WIDTH, null, null);
+        assertTrue(selected.isEmpty());
+        DepthFirstSearch.depthSearch(selected, start(start), GOAL, WIDTH, 0, null);
+        assertTrue(selected.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tableSizeIsChecked() {
+        new TranspositionTable(31);
+    }
+
+    private static Node start(int[] tiles) {
+        Node node = new Node();
+        node.state = tiles.clone();
+        node.pathCost = 0;
+        return node;
+    }
+
+    /**
+     * Empties a solution Stack into its boards, start first.
+     */
+    private static List<int[]> path(Stack<Node> selected) {
+        List<int[]> path = new ArrayList<int[]>();
+        while (!selected.empty()) {
+            path.add(selected.pop().state);
+        }
+        return path;
+    }
+}